@@ -1,22 +1,33 @@
 package com.raketo.league.audit;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import com.raketo.league.util.PlayerContextHolder;
-import lombok.RequiredArgsConstructor;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 
 @Component
-@RequiredArgsConstructor
 public class AuditService {
     private static final Logger logger = LoggerFactory.getLogger(AuditService.class);
     private final AuditLogRepository repository;
     private final ObjectMapper objectMapper;
 
+    public AuditService(AuditLogRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper.copy()
+                .registerModule(new SimpleModule().addSerializer(HibernateProxy.class, new UnloadedReferenceSerializer()));
+    }
+
     @Transactional
     public void record(String tableName, String operation, Object entity) {
         Long playerId = PlayerContextHolder.getCurrentPlayerId();
@@ -34,4 +45,26 @@ public class AuditService {
             logger.error("Failed to write audit log", e);
         }
     }
+
+    /**
+     * Snapshots are taken while the entity is flushed, so an association that was never loaded is written
+     * as its id instead of being loaded there.
+     */
+    private static final class UnloadedReferenceSerializer extends StdSerializer<HibernateProxy> {
+        UnloadedReferenceSerializer() {
+            super(HibernateProxy.class);
+        }
+
+        @Override
+        public void serialize(HibernateProxy proxy, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            LazyInitializer initializer = proxy.getHibernateLazyInitializer();
+            if (initializer.isUninitialized()) {
+                gen.writeStartObject();
+                gen.writeObjectField("id", initializer.getIdentifier());
+                gen.writeEndObject();
+            } else {
+                provider.defaultSerializeValue(initializer.getImplementation(), gen);
+            }
+        }
+    }
 }
@@ -4,9 +4,12 @@ import com.raketo.league.telegram.TelegramBot;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.telegram.telegrambots.meta.TelegramBotsApi;
+import org.telegram.telegrambots.meta.api.methods.updates.SetWebhook;
 import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
 import org.telegram.telegrambots.updatesreceivers.DefaultBotSession;
 
@@ -19,6 +22,7 @@ public class TelegramBotConfig {
     private final TelegramBot telegramBot;
 
     @Bean
+    @ConditionalOnProperty(name = "telegram.bot.mode", havingValue = "polling", matchIfMissing = true)
     public TelegramBotsApi telegramBotsApi() {
         try {
             TelegramBotsApi botsApi = new TelegramBotsApi(DefaultBotSession.class);
@@ -30,5 +34,30 @@ public class TelegramBotConfig {
             throw new RuntimeException("Failed to register Telegram bot", e);
         }
     }
-}
 
+    @Bean
+    @ConditionalOnProperty(name = "telegram.bot.mode", havingValue = "webhook")
+    public SetWebhook telegramWebhook(
+            @Value("${telegram.bot.webhook.url}") String webhookUrl,
+            @Value("${telegram.bot.webhook.path:/telegram/webhook}") String webhookPath,
+            @Value("${telegram.bot.webhook.secret:}") String secret) {
+        if (webhookUrl == null || webhookUrl.isBlank()) {
+            throw new IllegalStateException("telegram.bot.webhook.url is required in webhook mode");
+        }
+        if (secret.isBlank()) {
+            throw new IllegalStateException("telegram.bot.webhook.secret is required in webhook mode");
+        }
+        SetWebhook setWebhook = SetWebhook.builder()
+                .url(webhookUrl + webhookPath)
+                .secretToken(secret)
+                .build();
+        try {
+            telegramBot.execute(setWebhook);
+            logger.info("Telegram webhook registered successfully: {}{}", webhookUrl, webhookPath);
+            return setWebhook;
+        } catch (TelegramApiException e) {
+            logger.error("Failed to register Telegram webhook", e);
+            throw new RuntimeException("Failed to register Telegram webhook", e);
+        }
+    }
+}
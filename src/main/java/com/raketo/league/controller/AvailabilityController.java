@@ -31,10 +31,21 @@ public class AvailabilityController {
         return ResponseEntity.ok(availabilityService.getPlayerTourAvailability(playerId, tourId).orElse(null));
     }
 
+    @GetMapping("/template/{tourTemplateId}/compatibility")
+    public ResponseEntity<AvailabilityService.RoundCompatibility> getRoundCompatibility(@PathVariable Long tourTemplateId) {
+        return availabilityService.getRoundCompatibility(tourTemplateId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping("/tour/{tourId}/player/{playerId}")
     public ResponseEntity<AvailabilitySlot> savePlayerTourAvailability(@PathVariable Long tourId, @PathVariable Long playerId, @RequestBody AvailabilityPayload payload) {
-        AvailabilitySlot slot = availabilityService.saveOrUpdatePlayerTourAvailability(tourId, playerId, payload.getAvailableSlots(), payload.getUnavailableSlots());
-        return ResponseEntity.ok(slot);
+        try {
+            AvailabilitySlot slot = availabilityService.saveOrUpdatePlayerTourAvailability(tourId, playerId, payload.getAvailableSlots(), payload.getUnavailableSlots());
+            return ResponseEntity.ok(slot);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @DeleteMapping("/tour/{tourId}/player/{playerId}")
@@ -6,6 +6,7 @@ import com.raketo.league.model.Tour;
 import com.raketo.league.repository.PlayerRepository;
 import com.raketo.league.repository.ScheduleRequestRepository;
 import com.raketo.league.repository.TourRepository;
+import com.raketo.league.service.ScheduleDataVersions;
 import com.raketo.league.telegram.TelegramBot;
 import com.raketo.league.util.FormatUtils;
 import lombok.Data;
@@ -31,6 +32,7 @@ public class MatchRequestController {
     private final PlayerRepository playerRepository;
     private final TourRepository tourRepository;
     private final TelegramBot telegramBot;
+    private final ScheduleDataVersions scheduleDataVersions;
 
     @PostMapping
     @Transactional
@@ -62,6 +64,7 @@ public class MatchRequestController {
 
             createdRequests.add(scheduleRequestRepository.save(scheduleRequest));
         }
+        scheduleDataVersions.tourChanged(tour);
 
         sendNotifications(initiator, recipient, tour, createdRequests);
 
@@ -0,0 +1,50 @@
+package com.raketo.league.controller;
+
+import com.raketo.league.telegram.TelegramBot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+@RestController
+@ConditionalOnProperty(name = "telegram.bot.mode", havingValue = "webhook")
+public class TelegramWebhookController {
+    private static final Logger logger = LoggerFactory.getLogger(TelegramWebhookController.class);
+    private static final String SECRET_HEADER = "X-Telegram-Bot-Api-Secret-Token";
+
+    private final TelegramBot telegramBot;
+    private final byte[] secret;
+
+    public TelegramWebhookController(TelegramBot telegramBot, @Value("${telegram.bot.webhook.secret:}") String secret) {
+        // Admin checks trust the sender id in the update, so only Telegram may post here
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("telegram.bot.webhook.secret is required in webhook mode");
+        }
+        this.telegramBot = telegramBot;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @PostMapping("${telegram.bot.webhook.path:/telegram/webhook}")
+    public ResponseEntity<Void> receiveUpdate(@RequestHeader(value = SECRET_HEADER, required = false) String secretToken,
+                                              @RequestBody Update update) {
+        if (secretToken == null || !MessageDigest.isEqual(secret, secretToken.getBytes(StandardCharsets.UTF_8))) {
+            logger.warn("Rejected webhook update {} with invalid secret token", update.getUpdateId());
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        // A non-2xx reply makes Telegram redeliver the update later, which is the backpressure we want
+        if (!telegramBot.onWebhookUpdateReceived(update)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+        return ResponseEntity.ok().build();
+    }
+}
@@ -38,7 +38,7 @@ public class WebAppController {
             RequestContextUtils.getLocaleResolver(request).setLocale(request, null, locale);
         }
         if (tourId != null) {
-            Tour tour = tourRepository.findById(tourId)
+            Tour tour = tourRepository.findWithTemplateById(tourId)
                     .orElseThrow(() -> new IllegalArgumentException("Tour not found"));
             model.addAttribute("tourId", tour.getId());
             model.addAttribute("tourStartDate", tour.getTourTemplate().getStartDate());
@@ -59,7 +59,7 @@ public class WebAppController {
                 .orElseThrow(() -> new IllegalArgumentException("Player not found"));
         Player opponent = playerService.findById(opponentId)
                 .orElseThrow(() -> new IllegalArgumentException("Opponent not found"));
-        Tour tour = tourRepository.findById(tourId)
+        Tour tour = tourRepository.findWithTemplateById(tourId)
                 .orElseThrow(() -> new IllegalArgumentException("Tour not found"));
 
         model.addAttribute("playerId", player.getId());
@@ -2,9 +2,13 @@ package com.raketo.league.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "admin_users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.adminUser")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
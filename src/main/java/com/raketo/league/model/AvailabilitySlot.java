@@ -1,13 +1,17 @@
 package com.raketo.league.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.raketo.league.audit.AuditEntityListener;
+import com.raketo.league.service.TourAvailability;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Mutability;
+import org.hibernate.type.descriptor.java.Immutability;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "availability_slots")
+@Table(name = "availability_slots", uniqueConstraints = @UniqueConstraint(name = "uk_availability_slots_player_tour", columnNames = {"player_id", "tour_id"}))
 @EntityListeners(AuditEntityListener.class)
 @Data
 @NoArgsConstructor
@@ -18,17 +22,35 @@ public class AvailabilitySlot {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /**
+     * Compact form of the availability. Rows written before it existed keep the JSON columns below until
+     * {@link com.raketo.league.service.AvailabilityStorageMigration} converts them; reads fall back to JSON.
+     */
+    @Convert(converter = TourAvailabilityConverter.class)
+    @Mutability(Immutability.class)
+    @Column(name = "availability", length = TourAvailabilityConverter.COLUMN_LENGTH)
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private TourAvailability availability;
+
     @Column(name = "available_slots", columnDefinition = "TEXT")
+    @Getter(AccessLevel.NONE)
     private String availableSlots;
 
     @Column(name = "unavailable_slots", columnDefinition = "TEXT")
+    @Getter(AccessLevel.NONE)
     private String unavailableSlots;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "tour_id", nullable = false)
     private Tour tour;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "player_id", nullable = false)
     private Player player;
 
@@ -38,4 +60,51 @@ public class AvailabilitySlot {
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    /**
+     * JSON spanning more than {@link TourAvailability#MAX_DAYS} is read as empty, like unreadable JSON.
+     */
+    public TourAvailability getAvailability() {
+        if (availability != null) {
+            return availability;
+        }
+        try {
+            return TourAvailability.fromJson(availableSlots, unavailableSlots);
+        } catch (IllegalArgumentException e) {
+            return TourAvailability.EMPTY;
+        }
+    }
+
+    /**
+     * Stores {@code availability} in the binary column, or as JSON when it spans more days than the column
+     * holds. {@code null} clears both.
+     */
+    public void setAvailability(TourAvailability availability) {
+        if (availability != null && TourAvailabilityConverter.fits(availability)) {
+            this.availability = availability;
+            this.availableSlots = null;
+            this.unavailableSlots = null;
+        } else {
+            this.availability = null;
+            this.availableSlots = availability != null ? availability.availableJson() : null;
+            this.unavailableSlots = availability != null ? availability.unavailableJson() : null;
+        }
+    }
+
+    public void copyAvailabilityFrom(AvailabilitySlot other) {
+        this.availability = other.availability;
+        this.availableSlots = other.availableSlots;
+        this.unavailableSlots = other.unavailableSlots;
+    }
+
+    /**
+     * The JSON the REST API and the calendar read, whichever column the availability is stored in.
+     */
+    public String getAvailableSlots() {
+        return availability != null ? availability.availableJson() : availableSlots;
+    }
+
+    public String getUnavailableSlots() {
+        return availability != null ? availability.unavailableJson() : unavailableSlots;
+    }
 }
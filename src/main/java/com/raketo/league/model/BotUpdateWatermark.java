@@ -0,0 +1,24 @@
+package com.raketo.league.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "bot_update_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BotUpdateWatermark {
+    @Id
+    @Column(name = "bot_username", nullable = false)
+    private String botUsername;
+
+    @Column(name = "last_update_id", nullable = false)
+    private Integer lastUpdateId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
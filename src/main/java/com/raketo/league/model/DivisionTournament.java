@@ -1,10 +1,20 @@
 package com.raketo.league.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "divisions_tournaments")
+@NamedEntityGraph(name = "DivisionTournament.details", attributeNodes = {
+        @NamedAttributeNode("division"),
+        @NamedAttributeNode("tournament")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.divisionTournament")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,11 +24,15 @@ public class DivisionTournament {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "division_id")
     private Division division;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "tournament_id")
     private Tournament tournament;
 }
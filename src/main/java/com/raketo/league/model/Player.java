@@ -1,5 +1,6 @@
 package com.raketo.league.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.raketo.league.audit.AuditEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
@@ -7,6 +8,7 @@ import lombok.*;
 @Entity
 @Table(name = "players")
 @EntityListeners(AuditEntityListener.class)
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
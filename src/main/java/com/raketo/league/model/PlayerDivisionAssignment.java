@@ -5,6 +5,13 @@ import lombok.*;
 
 @Entity
 @Table(name = "players_divisions")
+@NamedEntityGraph(name = "PlayerDivisionAssignment.schedule", attributeNodes =
+        @NamedAttributeNode(value = "divisionTournament", subgraph = "divisionTournament"),
+        subgraphs = @NamedSubgraph(name = "divisionTournament", attributeNodes = {
+                @NamedAttributeNode("division"),
+                @NamedAttributeNode("tournament")
+        }))
+@NamedEntityGraph(name = "PlayerDivisionAssignment.roster", attributeNodes = @NamedAttributeNode("player"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,11 +21,15 @@ public class PlayerDivisionAssignment {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "player_id")
     private Player player;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "divisions_tournaments_id")
     private DivisionTournament divisionTournament;
 }
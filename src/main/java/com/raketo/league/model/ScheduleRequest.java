@@ -9,6 +9,14 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "schedule_requests")
 @EntityListeners(AuditEntityListener.class)
+@NamedEntityGraph(name = "ScheduleRequest.inbox", attributeNodes = {
+        @NamedAttributeNode(value = "tour", subgraph = "tour"),
+        @NamedAttributeNode("initiatorPlayer"),
+        @NamedAttributeNode("recipientPlayer")
+}, subgraphs = @NamedSubgraph(name = "tour", attributeNodes = {
+        @NamedAttributeNode("tourTemplate"),
+        @NamedAttributeNode("responsiblePlayer")
+}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,7 +26,9 @@ public class ScheduleRequest {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "tour_id")
     private Tour tour;
 
@@ -28,11 +38,15 @@ public class ScheduleRequest {
     @Column(name = "proposed_hours", columnDefinition = "TEXT")
     private String proposedHours;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "initiator_player_id")
     private Player initiatorPlayer;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "recepient_player_id")
     private Player recipientPlayer;
 
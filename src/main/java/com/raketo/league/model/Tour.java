@@ -1,5 +1,6 @@
 package com.raketo.league.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.raketo.league.audit.AuditEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
@@ -9,6 +10,11 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "tours")
 @EntityListeners(AuditEntityListener.class)
+@NamedEntityGraph(name = "Tour.withTemplate", attributeNodes = {
+        @NamedAttributeNode("tourTemplate"),
+        @NamedAttributeNode("responsiblePlayer")
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,7 +24,9 @@ public class Tour {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "tour_template_id")
     private TourTemplate tourTemplate;
 
@@ -36,7 +44,9 @@ public class Tour {
     @Column(name = "complete_date")
     private LocalDateTime completeDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "responsible_player_id")
     private Player responsiblePlayer;
 
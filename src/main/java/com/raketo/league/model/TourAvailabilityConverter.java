@@ -0,0 +1,28 @@
+package com.raketo.league.model;
+
+import com.raketo.league.service.TourAvailability;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps {@link TourAvailability} to the {@code availability_slots.availability} VARBINARY column.
+ */
+@Converter
+public class TourAvailabilityConverter implements AttributeConverter<TourAvailability, byte[]> {
+    // Keeps the row small enough to stay in-page; about 20 weeks of days
+    public static final int COLUMN_LENGTH = 1024;
+
+    public static boolean fits(TourAvailability availability) {
+        return availability.storedSize() <= COLUMN_LENGTH;
+    }
+
+    @Override
+    public byte[] convertToDatabaseColumn(TourAvailability availability) {
+        return availability != null ? availability.toBytes() : null;
+    }
+
+    @Override
+    public TourAvailability convertToEntityAttribute(byte[] bytes) {
+        return bytes != null ? TourAvailability.fromBytes(bytes) : null;
+    }
+}
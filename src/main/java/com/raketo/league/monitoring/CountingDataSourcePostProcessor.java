@@ -0,0 +1,67 @@
+package com.raketo.league.monitoring;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Wraps the data source so that every executed statement and every fetched row is reported to the
+ * {@link SqlActivity} of the calling thread.
+ */
+@Component
+public class CountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !Proxy.isProxyClass(bean.getClass())) {
+            // Keep close() visible so the pool is still shut down with the context
+            Class<?>[] types = bean instanceof Closeable
+                    ? new Class<?>[]{DataSource.class, Closeable.class}
+                    : new Class<?>[]{DataSource.class};
+            return Proxy.newProxyInstance(getClass().getClassLoader(), types, new Counting(dataSource));
+        }
+        return bean;
+    }
+
+    private record Counting(Object target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("equals") && args != null && args.length == 1) {
+                Object other = args[0];
+                if (other != null && Proxy.isProxyClass(other.getClass()) && Proxy.getInvocationHandler(other) instanceof Counting counting) {
+                    other = counting.target();
+                }
+                return target.equals(other);
+            }
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (target instanceof Statement && method.getName().startsWith("execute")) {
+                SqlActivity.statementExecuted(System.nanoTime() - start);
+            }
+            if (target instanceof ResultSet && method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                SqlActivity.rowFetched();
+            }
+            Class<?> type = method.getReturnType();
+            if (result != null && (type == Connection.class || Statement.class.isAssignableFrom(type)
+                    || (type == ResultSet.class && !method.getName().equals("getGeneratedKeys")))) {
+                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, new Counting(result));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.raketo.league.monitoring;
+
+import java.time.Duration;
+
+/**
+ * JDBC statements, fetched rows and statement time of the work running on the current thread.
+ * Activities nest: a statement counts towards every activity open on the thread.
+ */
+public final class SqlActivity {
+    private static final ThreadLocal<SqlActivity> CURRENT = new ThreadLocal<>();
+
+    private final SqlActivity parent;
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    private SqlActivity(SqlActivity parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Runs {@code action} and returns what it cost, e.g. to fail a test when a handler goes over its
+     * statement budget with {@code SqlActivity.measure(...).requireStatementsAtMost(5, "schedule")}.
+     */
+    public static SqlActivity measure(Runnable action) {
+        SqlActivity activity = start();
+        try {
+            action.run();
+        } finally {
+            activity.stop();
+        }
+        return activity;
+    }
+
+    static SqlActivity start() {
+        SqlActivity activity = new SqlActivity(CURRENT.get());
+        CURRENT.set(activity);
+        return activity;
+    }
+
+    void stop() {
+        if (parent != null) {
+            CURRENT.set(parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    static void statementExecuted(long elapsedNanos) {
+        for (SqlActivity activity = CURRENT.get(); activity != null; activity = activity.parent) {
+            activity.statements++;
+            activity.nanos += elapsedNanos;
+        }
+    }
+
+    static void rowFetched() {
+        for (SqlActivity activity = CURRENT.get(); activity != null; activity = activity.parent) {
+            activity.rows++;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public Duration time() {
+        return Duration.ofNanos(nanos);
+    }
+
+    public void requireStatementsAtMost(int budget, String operation) {
+        if (statements > budget) {
+            throw new IllegalStateException(operation + " executed " + statements + " SQL statements, over its budget of " + budget);
+        }
+    }
+}
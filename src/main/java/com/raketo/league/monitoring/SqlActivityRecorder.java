@@ -0,0 +1,81 @@
+package com.raketo.league.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records what one bot interaction or REST call cost in SQL, tagged by operation, and flags operations
+ * that go over the statement budget.
+ */
+@Component
+public class SqlActivityRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlActivityRecorder.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    private final boolean failOverBudget;
+
+    public SqlActivityRecorder(MeterRegistry meterRegistry,
+                               @Value("${app.sql.statement-budget:20}") int statementBudget,
+                               @Value("${app.sql.fail-over-budget:false}") boolean failOverBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+        this.failOverBudget = failOverBudget;
+    }
+
+    /**
+     * Starts counting for {@code operation} on the current thread; closing the scope records the result.
+     */
+    public Scope begin(String operation) {
+        return new Scope(operation, SqlActivity.start());
+    }
+
+    private void record(String operation, SqlActivity activity) {
+        DistributionSummary.builder("bot.sql.statements")
+                .description("JDBC statements executed per operation")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(activity.statements());
+        DistributionSummary.builder("bot.sql.rows")
+                .description("Rows fetched per operation")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(activity.rows());
+        Timer.builder("bot.sql.time")
+                .description("Time spent executing statements per operation")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(activity.time());
+        if (activity.statements() > statementBudget) {
+            Counter.builder("bot.sql.budget.exceeded").tag("operation", operation).register(meterRegistry).increment();
+            logger.warn("{} executed {} SQL statements ({} rows), over the budget of {}", operation,
+                    activity.statements(), activity.rows(), statementBudget);
+            if (failOverBudget) {
+                activity.requireStatementsAtMost(statementBudget, operation);
+            }
+        }
+    }
+
+    public final class Scope implements AutoCloseable {
+        private final String operation;
+        private final SqlActivity activity;
+
+        private Scope(String operation, SqlActivity activity) {
+            this.operation = operation;
+            this.activity = activity;
+        }
+
+        @Override
+        public void close() {
+            activity.stop();
+            record(operation, activity);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.raketo.league.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Tags the SQL cost of each REST call with its method and route pattern.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class SqlActivityWebConfig implements WebMvcConfigurer {
+    private static final String SCOPE_ATTRIBUTE = SqlActivityWebConfig.class.getName() + ".scope";
+
+    private final SqlActivityRecorder sqlActivityRecorder;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                String route = pattern != null ? pattern.toString() : "unmapped";
+                request.setAttribute(SCOPE_ATTRIBUTE, sqlActivityRecorder.begin("http:" + request.getMethod() + " " + route));
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+                if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof SqlActivityRecorder.Scope scope) {
+                    request.removeAttribute(SCOPE_ATTRIBUTE);
+                    scope.close();
+                }
+            }
+        });
+    }
+}
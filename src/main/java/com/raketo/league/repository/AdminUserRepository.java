@@ -1,18 +1,27 @@
 package com.raketo.league.repository;
 
 import com.raketo.league.model.AdminUser;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AdminUserRepository extends JpaRepository<AdminUser, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<AdminUser> findByTelegramId(Long telegramId);
 
     Optional<AdminUser> findByTelegramUsername(String telegramUsername);
 
     boolean existsByTelegramId(Long telegramId);
+
+    @Query("SELECT a.telegramId FROM AdminUser a")
+    List<Long> findAllTelegramIds();
 }
 
@@ -1,11 +1,16 @@
 package com.raketo.league.repository;
 
 import com.raketo.league.model.AvailabilitySlot;
+import com.raketo.league.service.TourAvailability;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -14,4 +19,15 @@ public interface AvailabilitySlotRepository extends JpaRepository<AvailabilitySl
     List<AvailabilitySlot> findByTourId(Long tourId);
     @Query("SELECT a FROM AvailabilitySlot a WHERE a.player.id = :playerId AND a.tour.id = :tourId")
     List<AvailabilitySlot> findByPlayerIdAndTourId(@Param("playerId") Long playerId, @Param("tourId") Long tourId);
+    @Query("SELECT a FROM AvailabilitySlot a WHERE a.tour.tourTemplate.id = :tourTemplateId")
+    List<AvailabilitySlot> findByTourTemplateId(@Param("tourTemplateId") Long tourTemplateId);
+    @Query("SELECT a FROM AvailabilitySlot a WHERE a.availability IS NULL AND (a.availableSlots IS NOT NULL OR a.unavailableSlots IS NOT NULL) AND a.id > :afterId ORDER BY a.id")
+    List<AvailabilitySlot> findJsonOnlyAfter(@Param("afterId") Long afterId, Pageable pageable);
+    // Skips rows that were rewritten since they were read: every write moves updatedAt
+    @Modifying
+    @Transactional
+    @Query("UPDATE AvailabilitySlot a SET a.availability = :availability, a.availableSlots = NULL, a.unavailableSlots = NULL " +
+            "WHERE a.id = :id AND a.availability IS NULL " +
+            "AND (a.updatedAt = :readUpdatedAt OR (a.updatedAt IS NULL AND :readUpdatedAt IS NULL))")
+    int storeBinary(@Param("id") Long id, @Param("readUpdatedAt") LocalDateTime readUpdatedAt, @Param("availability") TourAvailability availability);
 }
@@ -0,0 +1,9 @@
+package com.raketo.league.repository;
+
+import com.raketo.league.model.BotUpdateWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BotUpdateWatermarkRepository extends JpaRepository<BotUpdateWatermark, String> {
+}
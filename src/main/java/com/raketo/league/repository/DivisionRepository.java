@@ -1,13 +1,17 @@
 package com.raketo.league.repository;
 
 import com.raketo.league.model.Division;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface DivisionRepository extends JpaRepository<Division, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Division> findByIsActiveTrue();
 }
 
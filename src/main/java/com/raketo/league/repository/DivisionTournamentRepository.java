@@ -1,13 +1,22 @@
 package com.raketo.league.repository;
 
 import com.raketo.league.model.DivisionTournament;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DivisionTournamentRepository extends JpaRepository<DivisionTournament, Long> {
+    @EntityGraph("DivisionTournament.details")
+    Optional<DivisionTournament> findWithDivisionAndTournamentById(Long id);
+    @EntityGraph("DivisionTournament.details")
     List<DivisionTournament> findByTournamentId(Long tournamentId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<DivisionTournament> findByDivisionId(Long divisionId);
 }
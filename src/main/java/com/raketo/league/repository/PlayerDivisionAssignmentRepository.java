@@ -1,6 +1,7 @@
 package com.raketo.league.repository;
 
 import com.raketo.league.model.PlayerDivisionAssignment;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,7 +9,9 @@ import java.util.List;
 
 @Repository
 public interface PlayerDivisionAssignmentRepository extends JpaRepository<PlayerDivisionAssignment, Long> {
+    @EntityGraph("PlayerDivisionAssignment.roster")
     List<PlayerDivisionAssignment> findByDivisionTournamentId(Long divisionTournamentId);
+    @EntityGraph("PlayerDivisionAssignment.schedule")
     List<PlayerDivisionAssignment> findByPlayerId(Long playerId);
     List<PlayerDivisionAssignment> findByPlayerIdAndDivisionTournamentId(Long playerId, Long divisionTournamentId);
 }
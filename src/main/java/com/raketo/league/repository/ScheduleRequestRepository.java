@@ -2,11 +2,13 @@ package com.raketo.league.repository;
 
 import com.raketo.league.model.ScheduleRequest;
 import com.raketo.league.model.ScheduleRequest.ScheduleStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ScheduleRequestRepository extends JpaRepository<ScheduleRequest, Long> {
@@ -15,6 +17,9 @@ public interface ScheduleRequestRepository extends JpaRepository<ScheduleRequest
     List<ScheduleRequest> findByInitiatorPlayerId(Long initiatorPlayerId);
     List<ScheduleRequest> findByRecipientPlayerId(Long recipientPlayerId);
     List<ScheduleRequest> findByInitiatorPlayerIdOrRecipientPlayerId(Long initiatorPlayerId, Long recipientPlayerId);
+    @EntityGraph("ScheduleRequest.inbox")
+    Optional<ScheduleRequest> findWithTourAndPlayersById(Long id);
+    @EntityGraph("ScheduleRequest.inbox")
     List<ScheduleRequest> findByTourIdAndInitiatorPlayerIdOrTourIdAndRecipientPlayerId(Long tourId1, Long initiatorPlayerId, Long tourId2, Long recipientPlayerId);
     List<ScheduleRequest> findByProposedDateBetween(LocalDate start, LocalDate end);
 }
@@ -0,0 +1,28 @@
+package com.raketo.league.repository;
+
+import com.raketo.league.model.Tour;
+
+import java.time.LocalDateTime;
+
+/**
+ * Everything the Manage Tour screen shows about one tour from one player's point of view.
+ */
+public record TourContext(Long tourId, Long divisionTournamentId, LocalDateTime startDate, LocalDateTime endDate,
+                          Tour.TourStatus status, LocalDateTime scheduledTime, Long roundNumber,
+                          Long opponentId, String opponentName, String opponentUsername, String opponentCourts,
+                          Long responsiblePlayerId, String responsiblePlayerName,
+                          Long playerAvailabilityCount, Long opponentAvailabilityCount,
+                          Long incomingPending, Long outgoingPending) {
+
+    public boolean hasOpponent() {
+        return opponentId != null;
+    }
+
+    public boolean playerAvailabilitySet() {
+        return playerAvailabilityCount > 0;
+    }
+
+    public boolean opponentAvailabilitySet() {
+        return opponentAvailabilityCount > 0;
+    }
+}
@@ -2,12 +2,36 @@ package com.raketo.league.repository;
 
 import com.raketo.league.model.TourPlayer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TourPlayerRepository extends JpaRepository<TourPlayer, Long> {
     List<TourPlayer> findByTourId(Long tourId);
     List<TourPlayer> findByPlayerId(Long playerId);
+
+    /**
+     * Both participants of every tour the player takes part in within the given division tournaments,
+     * with the tour, its template and the responsible player fetched in the same statement.
+     */
+    @Query("SELECT tp FROM TourPlayer tp JOIN FETCH tp.player JOIN FETCH tp.tour t JOIN FETCH t.tourTemplate tt " +
+            "LEFT JOIN FETCH t.responsiblePlayer " +
+            "WHERE tt.divisionTournament.id IN :divisionTournamentIds " +
+            "AND t.id IN (SELECT own.tour.id FROM TourPlayer own WHERE own.player.id = :playerId) " +
+            "ORDER BY tp.id")
+    List<TourPlayer> findLineupsForPlayer(@Param("playerId") Long playerId,
+                                          @Param("divisionTournamentIds") Collection<Long> divisionTournamentIds);
+
+    @Query("SELECT tp FROM TourPlayer tp JOIN FETCH tp.player JOIN FETCH tp.tour t JOIN FETCH t.tourTemplate tt " +
+            "LEFT JOIN FETCH t.responsiblePlayer " +
+            "WHERE tt.divisionTournament.id = :divisionTournamentId " +
+            "ORDER BY t.id, tp.id")
+    List<TourPlayer> findLineupsByDivisionTournamentId(@Param("divisionTournamentId") Long divisionTournamentId);
+
+    @Query("SELECT tp FROM TourPlayer tp JOIN FETCH tp.player WHERE tp.tour.tourTemplate.id = :tourTemplateId ORDER BY tp.tour.id, tp.id")
+    List<TourPlayer> findLineupsByTourTemplateId(@Param("tourTemplateId") Long tourTemplateId);
 }
@@ -1,12 +1,15 @@
 package com.raketo.league.repository;
 
+import com.raketo.league.model.ScheduleRequest;
 import com.raketo.league.model.Tour;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TourRepository extends JpaRepository<Tour, Long> {
@@ -14,4 +17,27 @@ public interface TourRepository extends JpaRepository<Tour, Long> {
     List<Tour> findByDivisionId(@Param("divisionId") Long divisionId);
 
     List<Tour> findByTourTemplateId(Long tourTemplateId);
+
+    @EntityGraph("Tour.withTemplate")
+    Optional<Tour> findWithTemplateById(Long id);
+
+    @Query("SELECT new com.raketo.league.repository.TourContext(t.id, dt.id, tt.startDate, tt.endDate, t.status, t.scheduledTime, " +
+            "(SELECT COUNT(r) FROM TourTemplate r WHERE r.divisionTournament.id = dt.id " +
+            "   AND (r.startDate < tt.startDate OR (r.startDate = tt.startDate AND r.id <= tt.id))), " +
+            "opp.id, opp.name, opp.telegramUsername, opp.preferredCourts, rp.id, rp.name, " +
+            "(SELECT COUNT(a) FROM AvailabilitySlot a WHERE a.tour.id = t.id AND a.player.id = :playerId), " +
+            "(SELECT COUNT(oa) FROM AvailabilitySlot oa WHERE oa.tour.id = t.id AND oa.player.id = opp.id), " +
+            "(SELECT COUNT(i) FROM ScheduleRequest i WHERE i.tour.id = t.id AND i.recipientPlayer.id = :playerId AND i.status = :pending), " +
+            "(SELECT COUNT(o) FROM ScheduleRequest o WHERE o.tour.id = t.id AND o.initiatorPlayer.id = :playerId AND o.status = :pending)) " +
+            "FROM TourPlayer me JOIN me.tour t JOIN t.tourTemplate tt JOIN tt.divisionTournament dt " +
+            "LEFT JOIN t.responsiblePlayer rp " +
+            "LEFT JOIN TourPlayer other ON other.tour.id = t.id AND other.player.id <> :playerId " +
+            "LEFT JOIN other.player opp " +
+            "WHERE me.player.id = :playerId AND t.id = :tourId AND dt.tournament.isActive = true")
+    Optional<TourContext> findTourContext(@Param("tourId") Long tourId, @Param("playerId") Long playerId,
+                                          @Param("pending") ScheduleRequest.ScheduleStatus pending);
+
+    default Optional<TourContext> findTourContext(Long tourId, Long playerId) {
+        return findTourContext(tourId, playerId, ScheduleRequest.ScheduleStatus.Pending);
+    }
 }
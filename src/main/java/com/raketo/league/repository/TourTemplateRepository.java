@@ -1,12 +1,23 @@
 package com.raketo.league.repository;
 
 import com.raketo.league.model.TourTemplate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TourTemplateRepository extends JpaRepository<TourTemplate, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TourTemplate> findByDivisionTournamentId(Long divisionTournamentId);
+
+    @Query("SELECT tt FROM TourTemplate tt JOIN FETCH tt.divisionTournament dt JOIN FETCH dt.division JOIN FETCH dt.tournament " +
+            "WHERE dt.id IN :divisionTournamentIds ORDER BY tt.startDate, tt.id")
+    List<TourTemplate> findWithDivisionTournamentByDivisionTournamentIds(@Param("divisionTournamentIds") Collection<Long> divisionTournamentIds);
 }
@@ -0,0 +1,103 @@
+package com.raketo.league.service;
+
+import com.raketo.league.repository.AdminUserRepository;
+import com.raketo.league.util.LongHashSet;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class AdminDirectory {
+    private static final Logger logger = LoggerFactory.getLogger(AdminDirectory.class);
+
+    private final AdminUserRepository adminUserRepository;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer refreshTimer;
+    private final Object lock = new Object();
+    // Ids registered while a refresh is loading, re-applied to the loaded set; guarded by lock
+    private final List<Long> registeredDuringLoad = new ArrayList<>();
+    private boolean loading;
+    private volatile LongHashSet adminIds = LongHashSet.of(List.of());
+    private volatile long lastRefreshMillis;
+
+    public AdminDirectory(AdminUserRepository adminUserRepository,
+                          @Value("${app.admin-directory.refresh-interval:PT5M}") Duration refreshInterval,
+                          MeterRegistry meterRegistry) {
+        this.adminUserRepository = adminUserRepository;
+        this.hits = Counter.builder("bot.admin.directory.lookups").tag("result", "hit")
+                .description("isAdmin checks answered from memory").register(meterRegistry);
+        this.misses = Counter.builder("bot.admin.directory.lookups").tag("result", "miss")
+                .description("isAdmin checks answered from memory").register(meterRegistry);
+        this.refreshTimer = Timer.builder("bot.admin.directory.refresh")
+                .description("Time spent reloading admin ids").register(meterRegistry);
+        Gauge.builder("bot.admin.directory.size", this, d -> d.adminIds.size()).register(meterRegistry);
+        Gauge.builder("bot.admin.directory.refresh.interval", refreshInterval, Duration::toSeconds)
+                .baseUnit("seconds").register(meterRegistry);
+        Gauge.builder("bot.admin.directory.refresh.age", this, d -> (System.currentTimeMillis() - d.lastRefreshMillis) / 1000.0)
+                .baseUnit("seconds").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        refresh();
+    }
+
+    public boolean isAdmin(Long telegramId) {
+        if (telegramId != null && adminIds.contains(telegramId)) {
+            hits.increment();
+            return true;
+        }
+        misses.increment();
+        return false;
+    }
+
+    public void register(Long telegramId) {
+        if (telegramId == null) {
+            return;
+        }
+        synchronized (lock) {
+            adminIds = adminIds.with(telegramId);
+            if (loading) {
+                registeredDuringLoad.add(telegramId);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.admin-directory.refresh-interval:PT5M}", initialDelayString = "${app.admin-directory.refresh-interval:PT5M}")
+    public synchronized void refresh() {
+        synchronized (lock) {
+            loading = true;
+            registeredDuringLoad.clear();
+        }
+        try {
+            LongHashSet loaded = refreshTimer.record(() -> LongHashSet.of(adminUserRepository.findAllTelegramIds()));
+            synchronized (lock) {
+                for (Long telegramId : registeredDuringLoad) {
+                    loaded = loaded.with(telegramId);
+                }
+                adminIds = loaded;
+            }
+            lastRefreshMillis = System.currentTimeMillis();
+            logger.debug("Admin directory refreshed size={}", loaded.size());
+        } catch (Exception e) {
+            logger.error("Failed to refresh admin directory, keeping {} cached ids", adminIds.size(), e);
+        } finally {
+            synchronized (lock) {
+                loading = false;
+                registeredDuringLoad.clear();
+            }
+        }
+    }
+}
@@ -7,6 +7,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,10 +20,10 @@ public class AdminService {
     private static final Logger logger = LoggerFactory.getLogger(AdminService.class);
 
     private final AdminUserRepository adminUserRepository;
+    private final AdminDirectory adminDirectory;
 
-    @Transactional(readOnly = true)
     public boolean isAdmin(Long telegramId) {
-        return adminUserRepository.existsByTelegramId(telegramId);
+        return adminDirectory.isAdmin(telegramId);
     }
 
     @Transactional(readOnly = true)
@@ -37,7 +39,14 @@ public class AdminService {
                 .name(name)
                 .isActive(true)
                 .build();
-        return adminUserRepository.save(admin);
+        AdminUser saved = adminUserRepository.save(admin);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                adminDirectory.register(saved.getTelegramId());
+            }
+        });
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,115 @@
+package com.raketo.league.service;
+
+import com.raketo.league.service.AvailabilityService.TimeIntersection;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Green and yellow windows shared by two players, computed on the per-day hour masks of
+ * {@link TourAvailability}. Runs of set bits become ranges directly, and a run ending at midnight joins
+ * one starting at midnight the next day, so the result is already merged and in order.
+ */
+public final class AvailabilityIntersections {
+    private static final int HOURS = TourAvailability.HOURS_PER_DAY;
+
+    private AvailabilityIntersections() {
+    }
+
+    /**
+     * Hours both players marked green.
+     */
+    public static List<TimeIntersection> green(TourAvailability a, TourAvailability b) {
+        Ranges ranges = new Ranges("green");
+        if (a.isEmpty() || b.isEmpty()) return ranges.list;
+        long first = Math.max(a.firstEpochDay(), b.firstEpochDay());
+        long last = Math.min(lastEpochDay(a), lastEpochDay(b));
+        for (long epochDay = first; epochDay <= last; epochDay++) {
+            ranges.add(epochDay, a.green((int) (epochDay - a.firstEpochDay())) & b.green((int) (epochDay - b.firstEpochDay())));
+        }
+        return ranges.finish();
+    }
+
+    /**
+     * Hours on any day either player listed that neither marked red and that are not green for both.
+     */
+    public static List<TimeIntersection> yellow(TourAvailability a, TourAvailability b) {
+        Ranges ranges = new Ranges("yellow");
+        if (a.isEmpty() && b.isEmpty()) return ranges.list;
+        long first = a.isEmpty() ? b.firstEpochDay() : b.isEmpty() ? a.firstEpochDay() : Math.min(a.firstEpochDay(), b.firstEpochDay());
+        long last = Math.max(a.isEmpty() ? first : lastEpochDay(a), b.isEmpty() ? first : lastEpochDay(b));
+        for (long epochDay = first; epochDay <= last; epochDay++) {
+            int dayA = indexOf(a, epochDay);
+            int dayB = indexOf(b, epochDay);
+            if (!(dayA >= 0 && a.listed(dayA)) && !(dayB >= 0 && b.listed(dayB))) continue;
+            int greenA = dayA >= 0 ? a.green(dayA) : 0;
+            int greenB = dayB >= 0 ? b.green(dayB) : 0;
+            int red = (dayA >= 0 ? a.red(dayA) : 0) | (dayB >= 0 ? b.red(dayB) : 0);
+            ranges.add(epochDay, ~(red | (greenA & greenB)) & TourAvailability.ALL_HOURS);
+        }
+        return ranges.finish();
+    }
+
+    private static long lastEpochDay(TourAvailability availability) {
+        return availability.firstEpochDay() + availability.days() - 1;
+    }
+
+    private static int indexOf(TourAvailability availability, long epochDay) {
+        long day = epochDay - availability.firstEpochDay();
+        return day >= 0 && day < availability.days() ? (int) day : -1;
+    }
+
+    /**
+     * Collects runs of hours, counted from the epoch, fed in ascending order.
+     */
+    private static final class Ranges {
+        private final String type;
+        private final List<TimeIntersection> list = new ArrayList<>();
+        private boolean open;
+        private long openStart;
+        private long openEnd;
+
+        private Ranges(String type) {
+            this.type = type;
+        }
+
+        void add(long epochDay, int hours) {
+            int offset = 0;
+            while (hours != 0) {
+                int skip = Integer.numberOfTrailingZeros(hours);
+                hours >>>= skip;
+                offset += skip;
+                int length = Integer.numberOfTrailingZeros(~hours);
+                long start = epochDay * HOURS + offset;
+                if (open && start == openEnd) {
+                    openEnd += length;
+                } else {
+                    close();
+                    open = true;
+                    openStart = start;
+                    openEnd = start + length;
+                }
+                hours = length == Integer.SIZE ? 0 : hours >>> length;
+                offset += length;
+            }
+        }
+
+        List<TimeIntersection> finish() {
+            close();
+            return list;
+        }
+
+        private void close() {
+            if (open) {
+                list.add(new TimeIntersection(toDateTime(openStart), toDateTime(openEnd), type));
+                open = false;
+            }
+        }
+
+        private static LocalDateTime toDateTime(long epochHour) {
+            return LocalDateTime.ofEpochSecond(epochHour * 3600, 0, ZoneOffset.UTC);
+        }
+    }
+}
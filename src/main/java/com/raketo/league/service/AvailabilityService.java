@@ -1,24 +1,29 @@
 package com.raketo.league.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.raketo.league.model.AvailabilitySlot;
 import com.raketo.league.model.Player;
 import com.raketo.league.model.Tour;
+import com.raketo.league.model.TourPlayer;
+import com.raketo.league.model.TourTemplate;
 import com.raketo.league.repository.AvailabilitySlotRepository;
+import com.raketo.league.repository.TourPlayerRepository;
+import com.raketo.league.repository.TourTemplateRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class AvailabilityService {
     private final AvailabilitySlotRepository availabilitySlotRepository;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TourTemplateRepository tourTemplateRepository;
+    private final TourPlayerRepository tourPlayerRepository;
+    private final ScheduleDataVersions scheduleDataVersions;
+    private final ParsedAvailabilityCache parsedAvailabilityCache;
 
     @Transactional(readOnly = true)
     public List<AvailabilitySlot> getPlayerAvailability(Long playerId) {
@@ -33,21 +38,24 @@ public class AvailabilityService {
 
     @Transactional
     public AvailabilitySlot saveOrUpdatePlayerTourAvailability(Long tourId, Long playerId, String availableJson, String unavailableJson) {
+        // Rejects spans over TourAvailability.MAX_DAYS before anything is written
+        TourAvailability availability = availableJson == null && unavailableJson == null
+                ? null : TourAvailability.fromJson(availableJson, unavailableJson);
+        scheduleDataVersions.tourChanged(tourId);
         AvailabilitySlot existing = getPlayerTourAvailability(playerId, tourId).orElse(null);
         if (existing != null) {
-            existing.setAvailableSlots(availableJson);
-            existing.setUnavailableSlots(unavailableJson);
+            parsedAvailabilityCache.evict(existing.getId());
+            existing.setAvailability(availability);
             existing.setUpdatedAt(LocalDateTime.now());
             return availabilitySlotRepository.save(existing);
         }
         AvailabilitySlot slot = AvailabilitySlot.builder()
                 .tour(Tour.builder().id(tourId).build())
                 .player(Player.builder().id(playerId).build())
-                .availableSlots(availableJson)
-                .unavailableSlots(unavailableJson)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
+        slot.setAvailability(availability);
         return availabilitySlotRepository.save(slot);
     }
 
@@ -55,6 +63,8 @@ public class AvailabilityService {
     public void deletePlayerTourAvailability(Long tourId, Long playerId) {
         List<AvailabilitySlot> slots = availabilitySlotRepository.findByPlayerIdAndTourId(playerId, tourId);
         availabilitySlotRepository.deleteAll(slots);
+        slots.forEach(slot -> parsedAvailabilityCache.evict(slot.getId()));
+        scheduleDataVersions.tourChanged(tourId);
     }
 
     @Transactional(readOnly = true)
@@ -73,15 +83,12 @@ public class AvailabilityService {
         List<TimeIntersection> yellowIntersections = List.of();
 
         if (a != null && b != null) {
-            greenIntersections = computeGreenIntersections(
-                a.getAvailableSlots(), b.getAvailableSlots()
-            );
+            TourAvailability availabilityA = parsedAvailabilityCache.availability(a);
+            TourAvailability availabilityB = parsedAvailabilityCache.availability(b);
+            greenIntersections = AvailabilityIntersections.green(availabilityA, availabilityB);
 
             if (greenIntersections.isEmpty()) {
-                yellowIntersections = computeYellowIntersections(
-                    a.getAvailableSlots(), a.getUnavailableSlots(),
-                    b.getAvailableSlots(), b.getUnavailableSlots()
-                );
+                yellowIntersections = AvailabilityIntersections.yellow(availabilityA, availabilityB);
             }
         }
 
@@ -93,6 +100,64 @@ public class AvailabilityService {
         return result;
     }
 
+    /**
+     * Green and yellow overlap of every pairing in the round, with the same rules as
+     * {@link #getTourIntersections}. Lineups and availability are loaded in two queries and the pairs are
+     * then intersected in parallel.
+     */
+    @Transactional(readOnly = true)
+    public Optional<RoundCompatibility> getRoundCompatibility(Long tourTemplateId) {
+        TourTemplate template = tourTemplateRepository.findById(tourTemplateId).orElse(null);
+        if (template == null) {
+            return Optional.empty();
+        }
+        Map<Long, List<Player>> playersByTour = new LinkedHashMap<>();
+        for (TourPlayer tourPlayer : tourPlayerRepository.findLineupsByTourTemplateId(tourTemplateId)) {
+            playersByTour.computeIfAbsent(tourPlayer.getTour().getId(), id -> new ArrayList<>(2)).add(tourPlayer.getPlayer());
+        }
+        Map<Long, Map<Long, AvailabilitySlot>> slotsByTour = new HashMap<>();
+        for (AvailabilitySlot slot : availabilitySlotRepository.findByTourTemplateId(tourTemplateId)) {
+            slotsByTour.computeIfAbsent(slot.getTour().getId(), id -> new HashMap<>()).putIfAbsent(slot.getPlayer().getId(), slot);
+        }
+
+        List<PairInput> inputs = new ArrayList<>();
+        playersByTour.forEach((tourId, players) -> {
+            if (players.size() == 2) {
+                Map<Long, AvailabilitySlot> slots = slotsByTour.getOrDefault(tourId, Map.of());
+                inputs.add(new PairInput(tourId, players.get(0), players.get(1),
+                        slots.get(players.get(0).getId()), slots.get(players.get(1).getId())));
+            }
+        });
+        List<PairCompatibility> pairs = inputs.parallelStream().map(this::computePairCompatibility).toList();
+        return Optional.of(new RoundCompatibility(tourTemplateId, template.getStartDate(), template.getEndDate(), pairs));
+    }
+
+    private PairCompatibility computePairCompatibility(PairInput input) {
+        List<TimeIntersection> green = List.of();
+        List<TimeIntersection> yellow = List.of();
+        if (input.slotA() != null && input.slotB() != null) {
+            TourAvailability a = parsedAvailabilityCache.availability(input.slotA());
+            TourAvailability b = parsedAvailabilityCache.availability(input.slotB());
+            green = AvailabilityIntersections.green(a, b);
+            if (green.isEmpty()) {
+                yellow = AvailabilityIntersections.yellow(a, b);
+            }
+        }
+        return new PairCompatibility(input.tourId(),
+                input.playerA().getId(), input.playerA().getName(),
+                input.playerB().getId(), input.playerB().getName(),
+                input.slotA() != null, input.slotB() != null,
+                hours(green), hours(yellow), green, yellow);
+    }
+
+    private static long hours(List<TimeIntersection> intersections) {
+        long hours = 0;
+        for (TimeIntersection intersection : intersections) {
+            hours += Duration.between(intersection.start(), intersection.end()).toHours();
+        }
+        return hours;
+    }
+
     @Transactional(readOnly = true)
     public Map<String, Object> getCompatibleTimes(Long tourId, Long playerId, Long opponentId) {
         AvailabilitySlot player = availabilitySlotRepository.findByPlayerIdAndTourId(playerId, tourId).stream().findFirst().orElse(null);
@@ -102,10 +167,12 @@ public class AvailabilityService {
         result.put("tourId", tourId);
         result.put("playerId", playerId);
         result.put("opponentId", opponentId);
-        result.put("playerAvailableSlots", player != null ? player.getAvailableSlots() : "{}");
-        result.put("playerUnavailableSlots", player != null ? player.getUnavailableSlots() : "{}");
-        result.put("opponentAvailableSlots", opponent != null ? opponent.getAvailableSlots() : "{}");
-        result.put("opponentUnavailableSlots", opponent != null ? opponent.getUnavailableSlots() : "{}");
+        ParsedAvailabilityCache.Parsed playerParsed = player != null ? parsedAvailabilityCache.get(player) : null;
+        ParsedAvailabilityCache.Parsed opponentParsed = opponent != null ? parsedAvailabilityCache.get(opponent) : null;
+        result.put("playerAvailableSlots", playerParsed != null ? playerParsed.availableJson() : "{}");
+        result.put("playerUnavailableSlots", playerParsed != null ? playerParsed.unavailableJson() : "{}");
+        result.put("opponentAvailableSlots", opponentParsed != null ? opponentParsed.availableJson() : "{}");
+        result.put("opponentUnavailableSlots", opponentParsed != null ? opponentParsed.unavailableJson() : "{}");
 
         return result;
     }
@@ -120,95 +187,15 @@ public class AvailabilityService {
                 .findFirst();
     }
 
-    private List<TimeIntersection> computeGreenIntersections(String availA, String availB) {
-        Map<String, List<Integer>> greenA = parse(availA);
-        Map<String, List<Integer>> greenB = parse(availB);
-
-        Set<String> allDays = new HashSet<>();
-        allDays.addAll(greenA.keySet());
-        allDays.addAll(greenB.keySet());
-
-        List<TimeIntersection> list = new ArrayList<>();
-        for (String day : allDays) {
-            List<Integer> ha = greenA.getOrDefault(day, List.of());
-            List<Integer> hb = greenB.getOrDefault(day, List.of());
-            Set<Integer> overlap = new TreeSet<>(ha);
-            overlap.retainAll(hb);
-
-            if (!overlap.isEmpty()) {
-                for (Integer hour : overlap) {
-                    LocalDateTime start = LocalDateTime.parse(day + " " + String.format("%02d:00:00", hour), DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss"));
-                    LocalDateTime end = start.plusHours(1);
-                    list.add(new TimeIntersection(start, end, "green"));
-                }
-            }
-        }
-        return merge(list);
-    }
-
-    private List<TimeIntersection> computeYellowIntersections(String availA, String unavailA, String availB, String unavailB) {
-        Map<String, List<Integer>> greenA = parse(availA);
-        Map<String, List<Integer>> redA = parse(unavailA);
-        Map<String, List<Integer>> greenB = parse(availB);
-        Map<String, List<Integer>> redB = parse(unavailB);
-
-        Set<String> allPossibleDays = new HashSet<>();
-        allPossibleDays.addAll(greenA.keySet());
-        allPossibleDays.addAll(greenB.keySet());
-        allPossibleDays.addAll(redA.keySet());
-        allPossibleDays.addAll(redB.keySet());
-
-        List<TimeIntersection> list = new ArrayList<>();
-
-        for (String day : allPossibleDays) {
-            List<Integer> greenHoursA = greenA.getOrDefault(day, List.of());
-            List<Integer> redHoursA = redA.getOrDefault(day, List.of());
-            List<Integer> greenHoursB = greenB.getOrDefault(day, List.of());
-            List<Integer> redHoursB = redB.getOrDefault(day, List.of());
-
-            for (int hour = 0; hour < 24; hour++) {
-                boolean aRed = redHoursA.contains(hour);
-                boolean bRed = redHoursB.contains(hour);
-                boolean aGreen = greenHoursA.contains(hour);
-                boolean bGreen = greenHoursB.contains(hour);
-
-                if (!aRed && !bRed) {
-                    boolean isYellow = (!aGreen || !bGreen);
-
-                    if (isYellow) {
-                        LocalDateTime start = LocalDateTime.parse(day + " " + String.format("%02d:00:00", hour), DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss"));
-                        LocalDateTime end = start.plusHours(1);
-                        list.add(new TimeIntersection(start, end, "yellow"));
-                    }
-                }
-            }
-        }
-
-        return merge(list);
-    }
+    public record TimeIntersection(LocalDateTime start, LocalDateTime end, String type) {}
 
-    private Map<String, List<Integer>> parse(String json) {
-        if (json == null || json.isBlank()) return Collections.emptyMap();
-        try { return objectMapper.readValue(json, new TypeReference<>() {}); } catch (Exception e) { return Collections.emptyMap(); }
-    }
+    public record RoundCompatibility(Long tourTemplateId, LocalDateTime startDate, LocalDateTime endDate,
+                                     List<PairCompatibility> pairs) {}
 
-    private List<TimeIntersection> merge(List<TimeIntersection> raw) {
-        if (raw.isEmpty()) return raw;
-        List<TimeIntersection> sorted = raw.stream().sorted(Comparator.comparing(TimeIntersection::start)).toList();
-        List<TimeIntersection> merged = new ArrayList<>();
-        TimeIntersection current = sorted.get(0);
-        for (int i = 1; i < sorted.size(); i++) {
-            TimeIntersection next = sorted.get(i);
-            if (!current.end.isBefore(next.start) && current.type.equals(next.type)) {
-                current = new TimeIntersection(current.start, current.end.isAfter(next.end) ? current.end : next.end, current.type);
-            } else {
-                merged.add(current);
-                current = next;
-            }
-        }
-        merged.add(current);
-        return merged;
-    }
+    public record PairCompatibility(Long tourId, Long playerAId, String playerAName, Long playerBId, String playerBName,
+                                    boolean playerAHasSubmitted, boolean playerBHasSubmitted,
+                                    long greenHours, long yellowHours,
+                                    List<TimeIntersection> greenIntersections, List<TimeIntersection> yellowIntersections) {}
 
-    public record TimeIntersection(LocalDateTime start, LocalDateTime end, String type) {}
+    private record PairInput(Long tourId, Player playerA, Player playerB, AvailabilitySlot slotA, AvailabilitySlot slotB) {}
 }
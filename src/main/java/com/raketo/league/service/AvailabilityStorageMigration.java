@@ -0,0 +1,93 @@
+package com.raketo.league.service;
+
+import com.raketo.league.model.AvailabilitySlot;
+import com.raketo.league.model.TourAvailabilityConverter;
+import com.raketo.league.repository.AvailabilitySlotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Converts availability rows that only have the JSON columns to the binary column, a batch at a time
+ * while the bot keeps serving. Reads fall back to JSON, so it does not matter how far it has got.
+ * Rows whose JSON does not parse cleanly keep it, so the original text is never lost.
+ */
+@Component
+public class AvailabilityStorageMigration {
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityStorageMigration.class);
+
+    private final AvailabilitySlotRepository availabilitySlotRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Counter converted;
+    private final Counter skipped;
+    private long lastId;
+    private volatile boolean finished;
+
+    public AvailabilityStorageMigration(AvailabilitySlotRepository availabilitySlotRepository,
+                                        @Value("${app.availability-migration.enabled:true}") boolean enabled,
+                                        @Value("${app.availability-migration.batch-size:200}") int batchSize,
+                                        MeterRegistry meterRegistry) {
+        this.availabilitySlotRepository = availabilitySlotRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.converted = Counter.builder("bot.availability.migrated")
+                .description("Availability rows converted from JSON to the binary column").register(meterRegistry);
+        this.skipped = Counter.builder("bot.availability.migration.skipped")
+                .description("Availability rows left as JSON because it did not parse cleanly").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.availability-migration.interval:PT10S}", initialDelayString = "${app.availability-migration.interval:PT10S}")
+    public synchronized void migrateBatch() {
+        if (!enabled || finished) return;
+        try {
+            List<AvailabilitySlot> slots = availabilitySlotRepository.findJsonOnlyAfter(lastId, PageRequest.ofSize(batchSize));
+            if (slots.isEmpty()) {
+                finished = true;
+                logger.info("Availability storage migration finished, {} rows converted", (long) converted.count());
+                return;
+            }
+            for (AvailabilitySlot slot : slots) {
+                TourAvailability availability = parse(slot);
+                if (availability == null) {
+                    skipped.increment();
+                    logger.warn("Keeping availability slot {} as JSON, it does not parse cleanly", slot.getId());
+                } else if (TourAvailabilityConverter.fits(availability)
+                        && availabilitySlotRepository.storeBinary(slot.getId(), slot.getUpdatedAt(), availability) > 0) {
+                    converted.increment();
+                }
+                lastId = slot.getId();
+            }
+        } catch (Exception e) {
+            logger.warn("Availability storage migration failed after id {}, will retry", lastId, e);
+        }
+    }
+
+    /**
+     * The parsed JSON columns, or {@code null} when they are too long or unreadable: such JSON parses to
+     * nothing although a column has text.
+     */
+    private static TourAvailability parse(AvailabilitySlot slot) {
+        TourAvailability availability;
+        try {
+            availability = TourAvailability.fromJson(slot.getAvailableSlots(), slot.getUnavailableSlots());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (availability.isEmpty() && (isNotBlank(slot.getAvailableSlots()) || isNotBlank(slot.getUnavailableSlots()))) {
+            return null;
+        }
+        return availability;
+    }
+
+    private static boolean isNotBlank(String json) {
+        return json != null && !json.isBlank();
+    }
+}
@@ -84,7 +84,7 @@ public class DivisionService {
 
     @Transactional(readOnly = true)
     public Optional<DivisionTournament> findDivisionTournamentById(Long id) {
-        return divisionTournamentRepository.findById(id);
+        return divisionTournamentRepository.findWithDivisionAndTournamentById(id);
     }
 }
 
@@ -0,0 +1,73 @@
+package com.raketo.league.service;
+
+import com.raketo.league.model.AvailabilitySlot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Least recently used parsed availability, keyed by slot id and {@code updatedAt}. Every write moves
+ * {@code updatedAt}, so an entry parsed from an older version of the row is never served; the writers
+ * also evict the slot so the stale entry does not linger.
+ */
+@Component
+public class ParsedAvailabilityCache {
+
+    public record Parsed(TourAvailability availability, String availableJson, String unavailableJson) {}
+
+    private final Map<Long, Entry> entries;
+    private final Counter hits;
+    private final Counter misses;
+
+    public ParsedAvailabilityCache(@Value("${app.availability-cache.max-size:5000}") int maxSize,
+                                   MeterRegistry meterRegistry) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxSize;
+            }
+        });
+        this.hits = Counter.builder("bot.availability.cache.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("bot.availability.cache.lookups").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("bot.availability.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    public TourAvailability availability(AvailabilitySlot slot) {
+        return slot != null ? get(slot).availability() : TourAvailability.EMPTY;
+    }
+
+    public Parsed get(AvailabilitySlot slot) {
+        if (slot.getId() == null) {
+            return parse(slot);
+        }
+        Entry cached = entries.get(slot.getId());
+        if (cached != null && Objects.equals(cached.updatedAt(), slot.getUpdatedAt())) {
+            hits.increment();
+            return cached.parsed();
+        }
+        misses.increment();
+        Parsed parsed = parse(slot);
+        entries.put(slot.getId(), new Entry(slot.getUpdatedAt(), parsed));
+        return parsed;
+    }
+
+    public void evict(Long slotId) {
+        if (slotId != null) {
+            entries.remove(slotId);
+        }
+    }
+
+    private static Parsed parse(AvailabilitySlot slot) {
+        return new Parsed(slot.getAvailability(), slot.getAvailableSlots(), slot.getUnavailableSlots());
+    }
+
+    private record Entry(LocalDateTime updatedAt, Parsed parsed) {}
+}
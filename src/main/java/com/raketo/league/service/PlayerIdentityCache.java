@@ -0,0 +1,103 @@
+package com.raketo.league.service;
+
+import com.raketo.league.model.Language;
+import com.raketo.league.model.Player;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-JVM cache of linked players keyed by telegram id. Entries are immutable snapshots;
+ * callers get a fresh detached {@link Player} on every hit so they cannot corrupt the cache.
+ */
+@Component
+public class PlayerIdentityCache {
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxSize;
+    private final Counter hits;
+    private final Counter misses;
+
+    public PlayerIdentityCache(@Value("${app.player-cache.ttl:PT10M}") Duration ttl,
+                               @Value("${app.player-cache.max-size:1000}") int maxSize,
+                               MeterRegistry meterRegistry) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxSize = maxSize;
+        this.hits = Counter.builder("bot.player.cache.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("bot.player.cache.lookups").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("bot.player.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    public Optional<Player> get(Long telegramId) {
+        if (telegramId == null) {
+            return Optional.empty();
+        }
+        Entry entry = entries.get(telegramId);
+        if (entry == null || entry.expiresAt < System.currentTimeMillis()) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(entry.snapshot.toPlayer());
+    }
+
+    public void put(Player player) {
+        if (player == null || player.getTelegramId() == null) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(e -> e.expiresAt < now);
+            if (entries.size() >= maxSize) {
+                entries.clear();
+            }
+        }
+        entries.put(player.getTelegramId(), new Entry(PlayerSnapshot.of(player), System.currentTimeMillis() + ttlMillis));
+    }
+
+    public void invalidate(Long telegramId) {
+        if (telegramId == null) {
+            return;
+        }
+        entries.remove(telegramId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entries.remove(telegramId);
+                }
+            });
+        }
+    }
+
+    private record Entry(PlayerSnapshot snapshot, long expiresAt) {}
+
+    public record PlayerSnapshot(Long id, Long telegramId, String telegramUsername, String name,
+                                 Boolean isActive, Language language, String preferredCourts) {
+        static PlayerSnapshot of(Player player) {
+            return new PlayerSnapshot(player.getId(), player.getTelegramId(), player.getTelegramUsername(), player.getName(),
+                    player.getIsActive(), player.getLanguage(), player.getPreferredCourts());
+        }
+
+        Player toPlayer() {
+            return Player.builder()
+                    .id(id)
+                    .telegramId(telegramId)
+                    .telegramUsername(telegramUsername)
+                    .name(name)
+                    .isActive(isActive)
+                    .language(language)
+                    .preferredCourts(preferredCourts)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.raketo.league.service;
+
+import com.raketo.league.model.Tour;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Read model of each player's tours per division tournament. Entries of a division tournament are dropped
+ * whenever its tours are regenerated or one of its tours changes status or time; a load that overlaps such
+ * a change is returned to its caller but not stored. Invalidations also move the matching
+ * {@link ScheduleDataVersions}. Holds at most {@code app.schedule-cache.max-size} entries, dropping the least
+ * recently used.
+ */
+@Component
+public class PlayerScheduleCache {
+    private final Map<Key, List<ScheduleService.TourInfo>> entries;
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final AtomicLong globalVersion = new AtomicLong();
+    private final ScheduleDataVersions dataVersions;
+    private final Counter hits;
+    private final Counter misses;
+
+    public PlayerScheduleCache(ScheduleDataVersions dataVersions,
+                               @Value("${app.schedule-cache.max-size:2000}") int maxSize,
+                               MeterRegistry meterRegistry) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, List<ScheduleService.TourInfo>> eldest) {
+                return size() > maxSize;
+            }
+        });
+        this.dataVersions = dataVersions;
+        this.hits = Counter.builder("bot.schedule.cache.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("bot.schedule.cache.lookups").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("bot.schedule.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns the tours of the player in each requested division tournament, loading all missing ones with a
+     * single call to {@code loader}, which must return the tours grouped by division tournament id.
+     */
+    public Map<Long, List<ScheduleService.TourInfo>> getAll(Long playerId, Collection<Long> divisionTournamentIds,
+                                                            Function<Set<Long>, Map<Long, List<ScheduleService.TourInfo>>> loader) {
+        Map<Long, List<ScheduleService.TourInfo>> result = new HashMap<>();
+        Map<Long, Long> versionsBeforeLoad = new HashMap<>();
+        long globalBeforeLoad = globalVersion.get();
+        for (Long dtId : divisionTournamentIds) {
+            List<ScheduleService.TourInfo> cached = entries.get(new Key(playerId, dtId));
+            if (cached != null) {
+                hits.increment();
+                result.put(dtId, cached);
+            } else {
+                misses.increment();
+                versionsBeforeLoad.put(dtId, version(dtId).get());
+            }
+        }
+        if (versionsBeforeLoad.isEmpty()) {
+            return result;
+        }
+        Map<Long, List<ScheduleService.TourInfo>> loaded = loader.apply(versionsBeforeLoad.keySet());
+        for (Map.Entry<Long, Long> e : versionsBeforeLoad.entrySet()) {
+            Long dtId = e.getKey();
+            List<ScheduleService.TourInfo> tours = List.copyOf(loaded.getOrDefault(dtId, List.of()));
+            tours.forEach(ti -> dataVersions.rememberDivision(ti.tourId(), dtId));
+            result.put(dtId, tours);
+            if (version(dtId).get() == e.getValue() && globalVersion.get() == globalBeforeLoad) {
+                entries.put(new Key(playerId, dtId), tours);
+            }
+        }
+        return result;
+    }
+
+    public void invalidateTour(Tour tour) {
+        dataVersions.tourChanged(tour);
+        invalidate(tour.getTourTemplate().getDivisionTournament().getId());
+    }
+
+    public void invalidateDivisionTournament(Long divisionTournamentId) {
+        dataVersions.divisionChanged(divisionTournamentId);
+        invalidate(divisionTournamentId);
+    }
+
+    private void invalidate(Long divisionTournamentId) {
+        evictDivisionTournament(divisionTournamentId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictDivisionTournament(divisionTournamentId);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        dataVersions.allChanged();
+        evictAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictAll();
+                }
+            });
+        }
+    }
+
+    private void evictDivisionTournament(Long divisionTournamentId) {
+        version(divisionTournamentId).incrementAndGet();
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.divisionTournamentId().equals(divisionTournamentId));
+        }
+    }
+
+    private void evictAll() {
+        globalVersion.incrementAndGet();
+        entries.clear();
+    }
+
+    private AtomicLong version(Long divisionTournamentId) {
+        return versions.computeIfAbsent(divisionTournamentId, id -> new AtomicLong());
+    }
+
+    private record Key(Long playerId, Long divisionTournamentId) {}
+}
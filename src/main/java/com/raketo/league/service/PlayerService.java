@@ -17,10 +17,17 @@ import java.util.Optional;
 public class PlayerService {
     private static final Logger logger = LoggerFactory.getLogger(PlayerService.class);
     private final PlayerRepository playerRepository;
+    private final PlayerIdentityCache playerIdentityCache;
+    private final PlayerScheduleCache playerScheduleCache;
 
-    @Transactional(readOnly = true)
     public Optional<Player> findByTelegramId(Long telegramId) {
-        return playerRepository.findByTelegramId(telegramId);
+        Optional<Player> cached = playerIdentityCache.get(telegramId);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<Player> loaded = playerRepository.findByTelegramId(telegramId);
+        loaded.ifPresent(playerIdentityCache::put);
+        return loaded;
     }
 
     @Transactional(readOnly = true)
@@ -39,13 +46,19 @@ public class PlayerService {
         if (byId.isPresent()) {
             return byId.get();
         }
-        Optional<Player> byUsername = findByTelegramUsername(telegramUsername);
+        if (telegramUsername == null) {
+            return null;
+        }
+        Optional<Player> byUsername = playerRepository.findByTelegramUsername(telegramUsername);
         if (byUsername.isPresent()) {
             Player player = byUsername.get();
             if (player.getTelegramId() == null) {
                 player.setTelegramId(telegramId);
                 logger.info("Linked telegram ID {} to player {}", telegramId, telegramUsername);
-                return playerRepository.save(player);
+                Player linked = playerRepository.save(player);
+                // Evicted again once the link commits, so a concurrent lookup cannot cache the unlinked row
+                playerIdentityCache.invalidate(telegramId);
+                return linked;
             }
             return player;
         }
@@ -61,6 +74,7 @@ public class PlayerService {
                 .isActive(true)
                 .language(Language.RU)
                 .build();
+        playerIdentityCache.invalidate(telegramId);
         return playerRepository.save(player);
     }
 
@@ -77,12 +91,25 @@ public class PlayerService {
     @Transactional
     public void updateLanguage(Player player, Language language) {
         player.setLanguage(language);
-        playerRepository.save(player);
+        Player managed = loadForUpdate(player);
+        managed.setLanguage(language);
+        playerRepository.save(managed);
+        playerIdentityCache.invalidate(managed.getTelegramId());
     }
 
     @Transactional
     public void updatePreferredCourts(Player player, String preferredCourts) {
         player.setPreferredCourts(preferredCourts);
-        playerRepository.save(player);
+        Player managed = loadForUpdate(player);
+        managed.setPreferredCourts(preferredCourts);
+        playerRepository.save(managed);
+        playerIdentityCache.invalidate(managed.getTelegramId());
+        // Opponents see these courts through their cached schedules
+        playerScheduleCache.invalidateAll();
+    }
+
+    private Player loadForUpdate(Player player) {
+        return playerRepository.findById(player.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Player not found id=" + player.getId()));
     }
 }
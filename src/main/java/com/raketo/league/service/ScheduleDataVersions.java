@@ -0,0 +1,94 @@
+package com.raketo.league.service;
+
+import com.raketo.league.model.Tour;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters that move whenever something shown on a schedule screen changes: a tour, its requests or the
+ * availability submitted for it. Anything rendered from that data stays valid while the counters it was
+ * rendered under are unchanged.
+ */
+@Component
+public class ScheduleDataVersions {
+    private final Map<Long, AtomicLong> divisionVersions = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> tourVersions = new ConcurrentHashMap<>();
+    private final Map<Long, Long> divisionByTour = new ConcurrentHashMap<>();
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    public long global() {
+        return globalVersion.get();
+    }
+
+    public long division(Long divisionTournamentId) {
+        return counter(divisionVersions, divisionTournamentId).get();
+    }
+
+    public long tour(Long tourId) {
+        return counter(tourVersions, tourId).get();
+    }
+
+    /**
+     * Records which division tournament a tour belongs to, so that {@link #tourChanged(Long)} can reach
+     * the division's screens without loading the tour.
+     */
+    public void rememberDivision(Long tourId, Long divisionTournamentId) {
+        if (tourId != null && divisionTournamentId != null) {
+            divisionByTour.put(tourId, divisionTournamentId);
+        }
+    }
+
+    public void tourChanged(Tour tour) {
+        Long divisionTournamentId = tour.getTourTemplate().getDivisionTournament().getId();
+        rememberDivision(tour.getId(), divisionTournamentId);
+        bumpNowAndAfterCompletion(() -> {
+            counter(tourVersions, tour.getId()).incrementAndGet();
+            counter(divisionVersions, divisionTournamentId).incrementAndGet();
+        });
+    }
+
+    /**
+     * Same as {@link #tourChanged(Tour)}; when the tour's division tournament is not known yet every
+     * version is moved instead.
+     */
+    public void tourChanged(Long tourId) {
+        bumpNowAndAfterCompletion(() -> {
+            counter(tourVersions, tourId).incrementAndGet();
+            Long divisionTournamentId = divisionByTour.get(tourId);
+            if (divisionTournamentId != null) {
+                counter(divisionVersions, divisionTournamentId).incrementAndGet();
+            } else {
+                globalVersion.incrementAndGet();
+            }
+        });
+    }
+
+    public void divisionChanged(Long divisionTournamentId) {
+        bumpNowAndAfterCompletion(() -> counter(divisionVersions, divisionTournamentId).incrementAndGet());
+    }
+
+    public void allChanged() {
+        bumpNowAndAfterCompletion(globalVersion::incrementAndGet);
+    }
+
+    private void bumpNowAndAfterCompletion(Runnable bump) {
+        bump.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump.run();
+                }
+            });
+        }
+    }
+
+    private static AtomicLong counter(Map<Long, AtomicLong> versions, Long id) {
+        return versions.computeIfAbsent(id, key -> new AtomicLong());
+    }
+}
@@ -19,6 +19,8 @@ import java.util.function.BiConsumer;
 public class ScheduleRequestService {
     private final ScheduleRequestRepository scheduleRequestRepository;
     private final TourRepository tourRepository;
+    private final PlayerScheduleCache playerScheduleCache;
+    private final ScheduleDataVersions scheduleDataVersions;
 
     @Transactional(readOnly = true)
     public List<ScheduleRequest> getTourRequests(Long tourId, Long playerId) {
@@ -26,7 +28,7 @@ public class ScheduleRequestService {
     }
 
     public void acceptRequestLocalized(Long requestId, Long acceptingPlayerId, LocalizationService localizationService, BiConsumer<Long, String> messageSender) {
-        ScheduleRequest request = scheduleRequestRepository.findById(requestId).orElseThrow(() -> new IllegalArgumentException("Request not found"));
+        ScheduleRequest request = scheduleRequestRepository.findWithTourAndPlayersById(requestId).orElseThrow(() -> new IllegalArgumentException("Request not found"));
         if (!request.getRecipientPlayer().getId().equals(acceptingPlayerId)) {
             throw new IllegalArgumentException(localizationService.msg(request.getRecipientPlayer(), "match.request.accept.only.recipient"));
         }
@@ -45,6 +47,7 @@ public class ScheduleRequestService {
         tour.setStatus(Tour.TourStatus.Scheduled);
         tour.setUpdatedAt(LocalDateTime.now());
         tourRepository.save(tour);
+        playerScheduleCache.invalidateTour(tour);
         if (messageSender != null) {
             Player initiator = request.getInitiatorPlayer();
             String timeStr = "";
@@ -58,7 +61,7 @@ public class ScheduleRequestService {
     }
 
     public void declineRequestLocalized(Long requestId, Long decliningPlayerId, LocalizationService localizationService, BiConsumer<Long, String> messageSender) {
-        ScheduleRequest request = scheduleRequestRepository.findById(requestId).orElseThrow(() -> new IllegalArgumentException("Request not found"));
+        ScheduleRequest request = scheduleRequestRepository.findWithTourAndPlayersById(requestId).orElseThrow(() -> new IllegalArgumentException("Request not found"));
         if (!request.getRecipientPlayer().getId().equals(decliningPlayerId)) {
             throw new IllegalArgumentException(localizationService.msg(request.getRecipientPlayer(), "match.request.decline.only.recipient"));
         }
@@ -68,6 +71,7 @@ public class ScheduleRequestService {
         request.setStatus(ScheduleRequest.ScheduleStatus.Declined);
         request.setUpdatedAt(LocalDateTime.now());
         scheduleRequestRepository.save(request);
+        scheduleDataVersions.tourChanged(request.getTour());
         if (messageSender != null) {
             Player initiator = request.getInitiatorPlayer();
             String notification = localizationService.msg(initiator, "match.request.decline.notification", request.getRecipientPlayer().getName(), FormatUtils.formatDate(request.getProposedDate()));
@@ -130,13 +134,14 @@ public class ScheduleRequestService {
 
     @Transactional
     public void completeTour(Long tourId) {
-        Tour tour = tourRepository.findById(tourId)
+        Tour tour = tourRepository.findWithTemplateById(tourId)
                 .orElseThrow(() -> new IllegalArgumentException("Tour not found"));
 
         tour.setStatus(Tour.TourStatus.Completed);
         tour.setCompleteDate(LocalDateTime.now());
         tour.setUpdatedAt(LocalDateTime.now());
         tourRepository.save(tour);
+        playerScheduleCache.invalidateTour(tour);
 
         List<ScheduleRequest> pendingRequests = scheduleRequestRepository.findByTourIdAndStatus(tourId, ScheduleRequest.ScheduleStatus.Pending);
         for (ScheduleRequest req : pendingRequests) {
@@ -148,13 +153,14 @@ public class ScheduleRequestService {
 
     @Transactional
     public void postponeTour(Long tourId) {
-        Tour tour = tourRepository.findById(tourId)
+        Tour tour = tourRepository.findWithTemplateById(tourId)
                 .orElseThrow(() -> new IllegalArgumentException("Tour not found"));
 
         tour.setStatus(Tour.TourStatus.Postponed);
         tour.setScheduledTime(null);
         tour.setUpdatedAt(LocalDateTime.now());
         tourRepository.save(tour);
+        playerScheduleCache.invalidateTour(tour);
 
         List<ScheduleRequest> acceptedRequests = scheduleRequestRepository.findByTourIdAndStatus(tourId, ScheduleRequest.ScheduleStatus.Accepted);
         for (ScheduleRequest req : acceptedRequests) {
@@ -166,7 +172,7 @@ public class ScheduleRequestService {
 
     @Transactional
     public void cancelRequestLocalized(Long requestId, Long cancellingPlayerId, LocalizationService localizationService, BiConsumer<Long, String> messageSender) {
-        ScheduleRequest request = scheduleRequestRepository.findById(requestId)
+        ScheduleRequest request = scheduleRequestRepository.findWithTourAndPlayersById(requestId)
                 .orElseThrow(() -> new IllegalArgumentException("Request not found"));
 
         if (!request.getInitiatorPlayer().getId().equals(cancellingPlayerId)) {
@@ -177,6 +183,7 @@ public class ScheduleRequestService {
         request.setStatus(ScheduleRequest.ScheduleStatus.Cancelled);
         request.setUpdatedAt(LocalDateTime.now());
         scheduleRequestRepository.save(request);
+        scheduleDataVersions.tourChanged(request.getTour());
 
         if (oldStatus == ScheduleRequest.ScheduleStatus.Accepted) {
             Tour tour = request.getTour();
@@ -184,6 +191,7 @@ public class ScheduleRequestService {
             tour.setScheduledTime(null);
             tour.setUpdatedAt(LocalDateTime.now());
             tourRepository.save(tour);
+            playerScheduleCache.invalidateTour(tour);
         }
 
         if (messageSender != null && oldStatus != ScheduleRequest.ScheduleStatus.Pending) {
@@ -198,7 +206,7 @@ public class ScheduleRequestService {
     @Transactional
     public void changeRequestStatusLocalized(Long requestId, Long requestingPlayerId, ScheduleRequest.ScheduleStatus newStatus,
                                             LocalizationService localizationService, BiConsumer<Long, String> messageSender) {
-        ScheduleRequest request = scheduleRequestRepository.findById(requestId)
+        ScheduleRequest request = scheduleRequestRepository.findWithTourAndPlayersById(requestId)
                 .orElseThrow(() -> new IllegalArgumentException("Request not found"));
 
         if (!request.getRecipientPlayer().getId().equals(requestingPlayerId)) {
@@ -230,6 +238,7 @@ public class ScheduleRequestService {
         }
         tour.setUpdatedAt(LocalDateTime.now());
         tourRepository.save(tour);
+        playerScheduleCache.invalidateTour(tour);
 
         if (messageSender != null) {
             Player initiator = request.getInitiatorPlayer();
@@ -252,7 +261,7 @@ public class ScheduleRequestService {
 
     @Transactional
     public void bookRequestLocalized(Long requestId, Long bookingPlayerId, LocalizationService localizationService, BiConsumer<Long, String> messageSender) {
-        ScheduleRequest request = scheduleRequestRepository.findById(requestId)
+        ScheduleRequest request = scheduleRequestRepository.findWithTourAndPlayersById(requestId)
                 .orElseThrow(() -> new IllegalArgumentException("Request not found"));
 
         if (request.getStatus() != ScheduleRequest.ScheduleStatus.Accepted) {
@@ -269,6 +278,7 @@ public class ScheduleRequestService {
         request.setStatus(ScheduleRequest.ScheduleStatus.Booked);
         request.setUpdatedAt(LocalDateTime.now());
         scheduleRequestRepository.save(request);
+        scheduleDataVersions.tourChanged(tour);
 
         if (messageSender != null) {
             Player opponent = request.getInitiatorPlayer().getId().equals(bookingPlayerId) ?
@@ -290,7 +300,7 @@ public class ScheduleRequestService {
 
     @Transactional
     public void unbookRequestLocalized(Long requestId, Long unbookingPlayerId, LocalizationService localizationService, BiConsumer<Long, String> messageSender) {
-        ScheduleRequest request = scheduleRequestRepository.findById(requestId)
+        ScheduleRequest request = scheduleRequestRepository.findWithTourAndPlayersById(requestId)
                 .orElseThrow(() -> new IllegalArgumentException("Request not found"));
 
         if (request.getStatus() != ScheduleRequest.ScheduleStatus.Booked) {
@@ -307,6 +317,7 @@ public class ScheduleRequestService {
         request.setStatus(ScheduleRequest.ScheduleStatus.Accepted);
         request.setUpdatedAt(LocalDateTime.now());
         scheduleRequestRepository.save(request);
+        scheduleDataVersions.tourChanged(tour);
 
         if (messageSender != null) {
             Player opponent = request.getInitiatorPlayer().getId().equals(unbookingPlayerId) ?
@@ -18,6 +18,7 @@ public class ScheduleService {
     private final TourPlayerRepository tourPlayerRepository;
     private final PlayerDivisionAssignmentRepository playerDivisionAssignmentRepository;
     private final TourTemplateRepository tourTemplateRepository;
+    private final PlayerScheduleCache playerScheduleCache;
     private final TourRepository tourRepository;
     public static final ZoneId ZONE_ID = ZoneId.of("Asia/Tbilisi");
     public static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ofPattern("dd.MM").withZone(ZONE_ID);
@@ -31,12 +32,31 @@ public class ScheduleService {
                 .map(a -> a.getDivisionTournament().getId())
                 .collect(Collectors.toSet());
         if (divisionTournamentIds.isEmpty()) { return new PlayerSchedule(player, List.of()); }
-        return buildPlayerScheduleForDivisions(player, divisionTournamentIds);
+        return cachedPlayerSchedule(player, new TreeSet<>(divisionTournamentIds));
     }
 
     @Transactional(readOnly = true)
     public PlayerSchedule buildPlayerScheduleForDivision(Player player, Long divisionTournamentId) {
-        return buildPlayerScheduleForDivisions(player, Set.of(divisionTournamentId));
+        return cachedPlayerSchedule(player, Set.of(divisionTournamentId));
+    }
+
+    private PlayerSchedule cachedPlayerSchedule(Player player, Set<Long> divisionTournamentIds) {
+        Map<Long, List<TourInfo>> toursByDivision = playerScheduleCache.getAll(player.getId(), divisionTournamentIds,
+                missing -> buildPlayerScheduleForDivisions(player, missing).tours().stream()
+                        .collect(Collectors.groupingBy(TourInfo::divisionTournamentId)));
+        List<TourInfo> tours = new ArrayList<>();
+        for (Long dtId : divisionTournamentIds) {
+            tours.addAll(toursByDivision.getOrDefault(dtId, List.of()));
+        }
+        if (divisionTournamentIds.size() > 1) {
+            tours.sort(Comparator.comparing(TourInfo::startDate));
+        }
+        return new PlayerSchedule(player, tours);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<TourContext> findTourContext(Player player, Long tourId) {
+        return tourRepository.findTourContext(tourId, player.getId());
     }
 
     @Transactional(readOnly = true)
@@ -46,20 +66,20 @@ public class ScheduleService {
                 .collect(Collectors.toList());
     }
 
-    private PlayerSchedule buildPlayerScheduleForDivisions(Player player, Set<Long> divisionTournamentIds) {
-        List<TourTemplate> allTemplates = new ArrayList<>();
-        for (Long dtId : divisionTournamentIds) { allTemplates.addAll(tourTemplateRepository.findByDivisionTournamentId(dtId)); }
-        allTemplates.sort(Comparator.comparing(TourTemplate::getStartDate));
-        List<TourPlayer> tourPlayers = tourPlayerRepository.findByPlayerId(player.getId());
+    /**
+     * Loads the player's tours in the given division tournaments with two statements however many tours there are.
+     */
+    PlayerSchedule buildPlayerScheduleForDivisions(Player player, Set<Long> divisionTournamentIds) {
+        List<TourTemplate> allTemplates = tourTemplateRepository.findWithDivisionTournamentByDivisionTournamentIds(divisionTournamentIds);
         Map<Long, Tour> playerToursByTemplateId = new HashMap<>();
         Map<Long, Player> opponentsByTemplateId = new HashMap<>();
-        for (TourPlayer tp : tourPlayers) {
+        for (TourPlayer tp : tourPlayerRepository.findLineupsForPlayer(player.getId(), divisionTournamentIds)) {
             Tour tour = tp.getTour();
             Long templateId = tour.getTourTemplate().getId();
             playerToursByTemplateId.put(templateId, tour);
-            List<TourPlayer> allPlayersInTour = tourPlayerRepository.findByTourId(tour.getId());
-            Player opponent = allPlayersInTour.stream().map(TourPlayer::getPlayer).filter(p -> !Objects.equals(p.getId(), player.getId())).findFirst().orElse(null);
-            opponentsByTemplateId.put(templateId, opponent);
+            if (!Objects.equals(tp.getPlayer().getId(), player.getId())) {
+                opponentsByTemplateId.putIfAbsent(templateId, tp.getPlayer());
+            }
         }
         List<TourInfo> tourInfos = new ArrayList<>();
         for (TourTemplate template : allTemplates) {
@@ -80,44 +100,77 @@ public class ScheduleService {
 
     @Transactional(readOnly = true)
     public List<TourRoundInfo> buildTourGroupedSchedule(Long divisionTournamentId) {
-        List<TourTemplate> templates = tourTemplateRepository.findByDivisionTournamentId(divisionTournamentId);
-        templates.sort(Comparator.comparing(TourTemplate::getStartDate));
+        return buildDivisionScheduleMatrix(divisionTournamentId).rounds();
+    }
 
-        List<TourRoundInfo> result = new ArrayList<>();
-        int tourNumber = 1;
+    /**
+     * Builds every player's row and every round of a division tournament from one pass over its tours.
+     */
+    @Transactional(readOnly = true)
+    public DivisionScheduleMatrix buildDivisionScheduleMatrix(Long divisionTournamentId) {
+        List<TourTemplate> templates = tourTemplateRepository.findWithDivisionTournamentByDivisionTournamentIds(List.of(divisionTournamentId));
+        Map<Long, Map<Long, List<TourPlayer>>> lineupsByTemplateId = new HashMap<>();
+        for (TourPlayer tp : tourPlayerRepository.findLineupsByDivisionTournamentId(divisionTournamentId)) {
+            Tour tour = tp.getTour();
+            lineupsByTemplateId.computeIfAbsent(tour.getTourTemplate().getId(), id -> new LinkedHashMap<>())
+                    .computeIfAbsent(tour.getId(), id -> new ArrayList<>())
+                    .add(tp);
+        }
 
+        Map<Long, Map<Long, TourInfo>> cellsByPlayerId = new HashMap<>();
+        List<TourRoundInfo> rounds = new ArrayList<>();
+        int tourNumber = 1;
         for (TourTemplate template : templates) {
-            List<Tour> tours = tourRepository.findByTourTemplateId(template.getId());
             List<MatchPair> matches = new ArrayList<>();
-
-            for (Tour tour : tours) {
-                List<TourPlayer> tourPlayers = tourPlayerRepository.findByTourId(tour.getId());
-                List<Player> players = tourPlayers.stream().map(TourPlayer::getPlayer).collect(Collectors.toList());
-                if (players.size() == 2) {
-                    Player responsiblePlayer = tour.getResponsiblePlayer();
-                    Player player1, player2;
-                    if (responsiblePlayer != null && Objects.equals(players.get(0).getId(), responsiblePlayer.getId())) {
-                        player1 = players.get(0);
-                        player2 = players.get(1);
-                    } else if (responsiblePlayer != null && Objects.equals(players.get(1).getId(), responsiblePlayer.getId())) {
-                        player1 = players.get(1);
-                        player2 = players.get(0);
-                    } else {
-                        player1 = players.get(0);
-                        player2 = players.get(1);
-                    }
-                    matches.add(new MatchPair(player1, player2, tour.getStatus(), responsiblePlayer));
-                } else if (players.size() == 1) {
-                    // BYE
-                    matches.add(new MatchPair(players.get(0), null, tour.getStatus(), tour.getResponsiblePlayer()));
+            for (List<TourPlayer> lineup : lineupsByTemplateId.getOrDefault(template.getId(), Map.of()).values()) {
+                Tour tour = lineup.getFirst().getTour();
+                List<Player> players = lineup.stream().map(TourPlayer::getPlayer).collect(Collectors.toList());
+                MatchPair match = toMatchPair(tour, players);
+                if (match != null) {
+                    matches.add(match);
+                }
+                for (Player p : players) {
+                    Player opponent = players.stream().filter(o -> !Objects.equals(o.getId(), p.getId())).findFirst().orElse(null);
+                    cellsByPlayerId.computeIfAbsent(p.getId(), id -> new HashMap<>())
+                            .put(template.getId(), new TourInfo(tour.getId(), template.getStartDate(), template.getEndDate(), tour.getStatus(),
+                                    opponent, tour.getScheduledTime(), tour.getResponsiblePlayer(), divisionTournamentId));
                 }
             }
-
-            result.add(new TourRoundInfo(tourNumber, template.getStartDate(), template.getEndDate(), matches));
+            rounds.add(new TourRoundInfo(tourNumber, template.getStartDate(), template.getEndDate(), matches));
             tourNumber++;
         }
+        return new DivisionScheduleMatrix(divisionTournamentId, templates, cellsByPlayerId, rounds);
+    }
+
+    private MatchPair toMatchPair(Tour tour, List<Player> players) {
+        Player responsiblePlayer = tour.getResponsiblePlayer();
+        if (players.size() == 2) {
+            Player player1 = players.get(0);
+            Player player2 = players.get(1);
+            if (responsiblePlayer != null && Objects.equals(player2.getId(), responsiblePlayer.getId())) {
+                player1 = players.get(1);
+                player2 = players.get(0);
+            }
+            return new MatchPair(player1, player2, tour.getStatus(), responsiblePlayer);
+        }
+        if (players.size() == 1) {
+            // BYE
+            return new MatchPair(players.get(0), null, tour.getStatus(), responsiblePlayer);
+        }
+        return null;
+    }
 
-        return result;
+    public record DivisionScheduleMatrix(Long divisionTournamentId, List<TourTemplate> templates,
+                                         Map<Long, Map<Long, TourInfo>> cellsByPlayerId, List<TourRoundInfo> rounds) {
+        public PlayerSchedule scheduleFor(Player player) {
+            Map<Long, TourInfo> cells = cellsByPlayerId.getOrDefault(player.getId(), Map.of());
+            List<TourInfo> tours = new ArrayList<>(templates.size());
+            for (TourTemplate template : templates) {
+                TourInfo cell = cells.get(template.getId());
+                tours.add(cell != null ? cell : new TourInfo(null, template.getStartDate(), template.getEndDate(), null, null, null, null, divisionTournamentId));
+            }
+            return new PlayerSchedule(player, tours);
+        }
     }
 
     public record TourRoundInfo(int tourNumber, LocalDateTime startDate, LocalDateTime endDate, List<MatchPair> matches) {}
@@ -0,0 +1,302 @@
+package com.raketo.league.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.raketo.league.model.AvailabilitySlot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * One player's availability for a tour: a 24-bit mask of green hours and one of red hours per day,
+ * indexed by offset from the first day the player marked. Bit {@code h} is set when hour {@code h}
+ * of that day is marked. Immutable, so it can be shared between threads.
+ * <p>
+ * Converts to and from the JSON format of the REST API, {@code {"dd-MM-yyyy": [hours...]}} per column,
+ * and to and from the binary column format: a header of format version (1 byte), first epoch day
+ * (4 bytes) and day count (2 bytes), then 7 bytes per day: flags (bit 0 green listed, bit 1 red listed),
+ * the green mask (3 bytes) and the red mask (3 bytes), all big-endian.
+ */
+public final class TourAvailability {
+    public static final int HOURS_PER_DAY = 24;
+    public static final int ALL_HOURS = (1 << HOURS_PER_DAY) - 1;
+    // Longest span accepted from JSON; a tour is far shorter, and the arrays cover every day of the span
+    public static final int MAX_DAYS = 366;
+    public static final TourAvailability EMPTY = new TourAvailability(0L, new int[0], new int[0]);
+
+    // Set on days that appear in the JSON, even with no hours: such days still count as "listed"
+    private static final int LISTED = 1 << HOURS_PER_DAY;
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 7;
+    private static final int DAY_BYTES = 7;
+
+    private final long firstEpochDay;
+    private final int[] green;
+    private final int[] red;
+
+    private TourAvailability(long firstEpochDay, int[] green, int[] red) {
+        this.firstEpochDay = firstEpochDay;
+        this.green = green;
+        this.red = red;
+    }
+
+    public static TourAvailability of(AvailabilitySlot slot) {
+        return slot != null ? slot.getAvailability() : EMPTY;
+    }
+
+    /**
+     * Unreadable JSON leaves that column empty, the same way the map-based parse treated it.
+     *
+     * @throws IllegalArgumentException when the marked days span more than {@link #MAX_DAYS}
+     */
+    public static TourAvailability fromJson(String availableJson, String unavailableJson) {
+        Column available = Column.parse(availableJson);
+        Column unavailable = Column.parse(unavailableJson);
+        if (available.size == 0 && unavailable.size == 0) return EMPTY;
+
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (Column column : new Column[]{available, unavailable}) {
+            for (int i = 0; i < column.size; i++) {
+                first = Math.min(first, column.days[i]);
+                last = Math.max(last, column.days[i]);
+            }
+        }
+        if (last - first + 1 > MAX_DAYS) {
+            throw new IllegalArgumentException("Availability spans " + (last - first + 1) + " days, over the limit of " + MAX_DAYS);
+        }
+        int days = (int) (last - first + 1);
+        return new TourAvailability(first, available.toMasks(first, days), unavailable.toMasks(first, days));
+    }
+
+    public boolean isEmpty() {
+        return green.length == 0;
+    }
+
+    public LocalDate firstDay() {
+        return isEmpty() ? null : LocalDate.ofEpochDay(firstEpochDay);
+    }
+
+    public long firstEpochDay() {
+        return firstEpochDay;
+    }
+
+    public int days() {
+        return green.length;
+    }
+
+    public int green(int day) {
+        return green[day] & ALL_HOURS;
+    }
+
+    public int red(int day) {
+        return red[day] & ALL_HOURS;
+    }
+
+    /**
+     * Whether the day appears in either column, with or without hours.
+     */
+    public boolean listed(int day) {
+        return ((green[day] | red[day]) & LISTED) != 0;
+    }
+
+    public int greenOn(LocalDate date) {
+        int day = indexOf(date);
+        return day < 0 ? 0 : green(day);
+    }
+
+    public int redOn(LocalDate date) {
+        int day = indexOf(date);
+        return day < 0 ? 0 : red(day);
+    }
+
+    public String availableJson() {
+        return toJson(green);
+    }
+
+    public String unavailableJson() {
+        return toJson(red);
+    }
+
+    /**
+     * Size of {@link #toBytes()} for this availability.
+     */
+    public int storedSize() {
+        return HEADER_BYTES + green.length * DAY_BYTES;
+    }
+
+    public byte[] toBytes() {
+        if (green.length > 0xFFFF) throw new IllegalStateException("Too many days to store: " + green.length);
+        ByteBuffer buffer = ByteBuffer.allocate(storedSize())
+                .put(FORMAT_VERSION)
+                .putInt((int) firstEpochDay)
+                .putShort((short) green.length);
+        for (int day = 0; day < green.length; day++) {
+            buffer.put((byte) (((green[day] & LISTED) != 0 ? 1 : 0) | ((red[day] & LISTED) != 0 ? 2 : 0)));
+            putHours(buffer, green[day]);
+            putHours(buffer, red[day]);
+        }
+        return buffer.array();
+    }
+
+    public static TourAvailability fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < HEADER_BYTES || buffer.get() != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported availability format");
+        }
+        long firstEpochDay = buffer.getInt();
+        int days = Short.toUnsignedInt(buffer.getShort());
+        if (bytes.length != HEADER_BYTES + days * DAY_BYTES) {
+            throw new IllegalArgumentException("Availability of " + days + " days stored in " + bytes.length + " bytes");
+        }
+        if (days == 0) return EMPTY;
+        int[] green = new int[days];
+        int[] red = new int[days];
+        for (int day = 0; day < days; day++) {
+            int flags = buffer.get();
+            green[day] = getHours(buffer) | ((flags & 1) != 0 ? LISTED : 0);
+            red[day] = getHours(buffer) | ((flags & 2) != 0 ? LISTED : 0);
+        }
+        return new TourAvailability(firstEpochDay, green, red);
+    }
+
+    private static void putHours(ByteBuffer buffer, int mask) {
+        buffer.put((byte) (mask >>> 16)).put((byte) (mask >>> 8)).put((byte) mask);
+    }
+
+    private static int getHours(ByteBuffer buffer) {
+        return (buffer.get() & 0xFF) << 16 | (buffer.get() & 0xFF) << 8 | (buffer.get() & 0xFF);
+    }
+
+    private int indexOf(LocalDate date) {
+        long day = date.toEpochDay() - firstEpochDay;
+        return day >= 0 && day < green.length ? (int) day : -1;
+    }
+
+    private String toJson(int[] masks) {
+        StringBuilder sb = new StringBuilder(2 + masks.length * 24).append('{');
+        for (int day = 0; day < masks.length; day++) {
+            if ((masks[day] & LISTED) == 0) continue;
+            if (sb.length() > 1) sb.append(',');
+            LocalDate date = LocalDate.ofEpochDay(firstEpochDay + day);
+            sb.append('"');
+            appendTwoDigits(sb, date.getDayOfMonth()).append('-');
+            appendTwoDigits(sb, date.getMonthValue()).append('-');
+            sb.append(date.getYear()).append("\":[");
+            int hours = masks[day] & ALL_HOURS;
+            for (int hour = 0; hours != 0; hours >>>= 1, hour++) {
+                if ((hours & 1) == 0) continue;
+                if (sb.charAt(sb.length() - 1) != '[') sb.append(',');
+                sb.append(hour);
+            }
+            sb.append(']');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static StringBuilder appendTwoDigits(StringBuilder sb, int value) {
+        return sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TourAvailability other
+                && (isEmpty() ? other.isEmpty() : firstEpochDay == other.firstEpochDay)
+                && Arrays.equals(green, other.green) && Arrays.equals(red, other.red);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(green) + Arrays.hashCode(red);
+    }
+
+    /**
+     * Days and hour masks of one JSON column in document order; a repeated day keeps its last value.
+     */
+    private static final class Column {
+        private static final Column EMPTY = new Column();
+
+        private long[] days = new long[16];
+        private int[] masks = new int[16];
+        private int size;
+
+        static Column parse(String json) {
+            if (json == null || json.isBlank()) return EMPTY;
+            Column column = new Column();
+            try (JsonParser parser = JSON.createParser(json)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) return EMPTY;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    long day = parseDay(parser.currentName());
+                    JsonToken token = parser.nextToken();
+                    if (token == JsonToken.VALUE_NULL) {
+                        if (day != Long.MIN_VALUE) column.add(day, LISTED);
+                        continue;
+                    }
+                    if (token != JsonToken.START_ARRAY) return EMPTY;
+                    int mask = LISTED;
+                    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                        int hour = switch (token) {
+                            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getValueAsInt();
+                            case VALUE_STRING -> Integer.parseInt(parser.getText().trim());
+                            case VALUE_NULL -> -1;
+                            default -> throw new IOException("Unexpected " + token + " in hours");
+                        };
+                        if (hour >= 0 && hour < HOURS_PER_DAY) mask |= 1 << hour;
+                    }
+                    if (day != Long.MIN_VALUE) column.add(day, mask);
+                }
+                return column;
+            } catch (IOException | NumberFormatException e) {
+                return EMPTY;
+            }
+        }
+
+        /**
+         * Epoch day of a "dd-MM-yyyy" key, or {@code Long.MIN_VALUE} for anything else.
+         */
+        private static long parseDay(String key) {
+            if (key == null || key.length() != 10 || key.charAt(2) != '-' || key.charAt(5) != '-') return Long.MIN_VALUE;
+            int day = digits(key, 0, 2);
+            int month = digits(key, 3, 5);
+            int year = digits(key, 6, 10);
+            if (day < 0 || month < 0 || year < 0) return Long.MIN_VALUE;
+            try {
+                return LocalDate.of(year, month, day).toEpochDay();
+            } catch (DateTimeException e) {
+                return Long.MIN_VALUE;
+            }
+        }
+
+        private static int digits(String s, int from, int to) {
+            int value = 0;
+            for (int i = from; i < to; i++) {
+                char c = s.charAt(i);
+                if (c < '0' || c > '9') return -1;
+                value = value * 10 + (c - '0');
+            }
+            return value;
+        }
+
+        private void add(long day, int mask) {
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+                masks = Arrays.copyOf(masks, size * 2);
+            }
+            days[size] = day;
+            masks[size++] = mask;
+        }
+
+        private int[] toMasks(long firstEpochDay, int length) {
+            int[] result = new int[length];
+            for (int i = 0; i < size; i++) {
+                result[(int) (days[i] - firstEpochDay)] = masks[i];
+            }
+            return result;
+        }
+    }
+}
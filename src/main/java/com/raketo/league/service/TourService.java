@@ -24,6 +24,8 @@ public class TourService {
     private final DivisionTournamentRepository divisionTournamentRepository;
     private final AvailabilitySlotRepository availabilitySlotRepository;
     private final ScheduleRequestRepository scheduleRequestRepository;
+    private final PlayerScheduleCache playerScheduleCache;
+    private final ParsedAvailabilityCache parsedAvailabilityCache;
 
     @Transactional
     public int generateRoundRobinTours(Long divisionTournamentId, LocalDateTime tournamentStartDate, int tourDurationDays) {
@@ -52,6 +54,7 @@ public class TourService {
             throw new IllegalStateException("Mismatch templates=" + newTemplates.size() + " rounds=" + schedule.size());
         }
         Map<String, Long> tourIdByKey = persistTours(newTemplates, schedule);
+        playerScheduleCache.invalidateDivisionTournament(divisionTournamentId);
         int preserved = 0;
         if (preserveAvailability) {
             preserved = preserveAvailability(params.oldAvailabilities, params.oldTours, newTemplates, schedule, tourIdByKey, players);
@@ -238,6 +241,7 @@ public class TourService {
             }
             List<PlayerPair> pairs = schedule.get(index);
             for (AvailabilitySlot oldSlot : entry.getValue()) {
+                parsedAvailabilityCache.evict(oldSlot.getId());
                 Long playerId = oldSlot.getPlayer().getId();
                 if (!newPlayerIds.contains(playerId)) {
                     logger.info("Dropping availability playerId={} reason=player_removed", playerId);
@@ -248,7 +252,8 @@ public class TourService {
                     if (pair.player1.getId().equals(playerId) || pair.player2.getId().equals(playerId)) {
                         Long newTourId = tourIdByKey.get(buildKey(newTemplates.get(index).getId(), pair.player1.getId(), pair.player2.getId()));
                         if (newTourId != null) {
-                            AvailabilitySlot newSlot = AvailabilitySlot.builder().tour(Tour.builder().id(newTourId).build()).player(oldSlot.getPlayer()).availableSlots(oldSlot.getAvailableSlots()).unavailableSlots(oldSlot.getUnavailableSlots()).createdAt(oldSlot.getCreatedAt()).updatedAt(LocalDateTime.now()).build();
+                            AvailabilitySlot newSlot = AvailabilitySlot.builder().tour(Tour.builder().id(newTourId).build()).player(oldSlot.getPlayer()).createdAt(oldSlot.getCreatedAt()).updatedAt(LocalDateTime.now()).build();
+                            newSlot.copyAvailabilityFrom(oldSlot);
                             availabilitySlotRepository.save(newSlot);
                             preserved++;
                             saved = true;
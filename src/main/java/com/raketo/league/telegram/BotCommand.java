@@ -1,5 +1,8 @@
 package com.raketo.league.telegram;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public enum BotCommand {
     START("/start", CommandType.PLAYER),
     SCHEDULE("/schedule", CommandType.PLAYER),
@@ -15,7 +18,16 @@ public enum BotCommand {
     ASSIGN_PLAYER("/assignplayer", CommandType.ADMIN),
     GENERATE_TOURS("/gentours", CommandType.ADMIN),
     REGENERATE_TOURS("/regentours", CommandType.ADMIN),
-    VIEW_TOUR_SCHEDULE("/viewtourschedule", CommandType.ADMIN);
+    VIEW_TOUR_SCHEDULE("/viewtourschedule", CommandType.ADMIN),
+    ROUND_COMPATIBILITY("/roundcompat", CommandType.ADMIN);
+
+    private static final Map<String, BotCommand> BY_COMMAND = new HashMap<>();
+
+    static {
+        for (BotCommand cmd : values()) {
+            BY_COMMAND.put(cmd.command, cmd);
+        }
+    }
 
     private final String command;
     private final CommandType type;
@@ -34,27 +46,26 @@ public enum BotCommand {
     }
 
     public boolean matches(String text) {
-        return text != null && text.startsWith(command);
+        return fromText(text) == this;
     }
 
-    public static boolean isAdminCommand(String text) {
-        if (text == null) return false;
-        for (BotCommand cmd : values()) {
-            if (cmd.type == CommandType.ADMIN && text.startsWith(cmd.command)) {
-                return true;
-            }
+    public static BotCommand fromText(String text) {
+        if (text == null || text.isEmpty() || text.charAt(0) != '/') return null;
+        int end = 0;
+        while (end < text.length() && !Character.isWhitespace(text.charAt(end)) && text.charAt(end) != '@') {
+            end++;
         }
-        return false;
+        return BY_COMMAND.get(text.substring(0, end));
+    }
+
+    public static boolean isAdminCommand(String text) {
+        BotCommand cmd = fromText(text);
+        return cmd != null && cmd.type == CommandType.ADMIN;
     }
 
     public static boolean isPlayerCommand(String text) {
-        if (text == null) return false;
-        for (BotCommand cmd : values()) {
-            if (cmd.type == CommandType.PLAYER && text.startsWith(cmd.command)) {
-                return true;
-            }
-        }
-        return false;
+        BotCommand cmd = fromText(text);
+        return cmd != null && cmd.type == CommandType.PLAYER;
     }
 
     public enum CommandType {
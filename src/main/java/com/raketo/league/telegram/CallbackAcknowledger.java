@@ -0,0 +1,77 @@
+package com.raketo.league.telegram;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.meta.api.methods.ActionType;
+import org.telegram.telegrambots.meta.api.methods.AnswerCallbackQuery;
+import org.telegram.telegrambots.meta.api.methods.send.SendChatAction;
+import org.telegram.telegrambots.meta.api.objects.CallbackQuery;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers callback queries as soon as they are received so the client stops its spinner, and shows a
+ * typing indicator while a handler runs longer than expected. Telegram accepts only one answer per
+ * callback query, so progress cannot be reported through a second toast.
+ */
+@Component
+public class CallbackAcknowledger {
+
+    private final OutboundQueue outboundQueue;
+    private final long progressAfterMillis;
+    private final ScheduledExecutorService progressScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("callback-progress").daemon().factory());
+    private final Timer ackTimer;
+    private final Timer handlerTimer;
+
+    public CallbackAcknowledger(OutboundQueue outboundQueue,
+                                @Value("${telegram.bot.callbacks.progress-after:PT1S}") Duration progressAfter,
+                                MeterRegistry meterRegistry) {
+        this.outboundQueue = outboundQueue;
+        this.progressAfterMillis = progressAfter.toMillis();
+        this.ackTimer = Timer.builder("bot.callbacks.ack.latency")
+                .description("Time from receiving a callback query until it is answered")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.handlerTimer = Timer.builder("bot.callbacks.handler.latency")
+                .description("Time from receiving a callback query until its handler finishes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public void acknowledge(CallbackQuery callbackQuery, long receivedAt) {
+        outboundQueue.submit(null, AnswerCallbackQuery.builder().callbackQueryId(callbackQuery.getId()).build(),
+                OutboundQueue.Lane.INTERACTIVE,
+                () -> ackTimer.record(System.nanoTime() - receivedAt, TimeUnit.NANOSECONDS), null);
+    }
+
+    public void runHandler(CallbackQuery callbackQuery, long receivedAt, Runnable handler) {
+        ScheduledFuture<?> progress = null;
+        if (callbackQuery.getMessage() != null) {
+            String chatId = callbackQuery.getMessage().getChatId().toString();
+            progress = progressScheduler.schedule(() -> outboundQueue.submit(chatId,
+                    SendChatAction.builder().chatId(chatId).action(ActionType.TYPING.toString()).build(),
+                    OutboundQueue.Lane.INTERACTIVE), progressAfterMillis, TimeUnit.MILLISECONDS);
+        }
+        try {
+            handler.run();
+        } finally {
+            if (progress != null) {
+                progress.cancel(false);
+            }
+            handlerTimer.record(System.nanoTime() - receivedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        progressScheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,350 @@
+package com.raketo.league.telegram;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.meta.api.methods.BotApiMethod;
+import org.telegram.telegrambots.meta.bots.AbsSender;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Sends Bot API calls off the handling thread. Calls are paced by a global rate and a per-chat rate,
+ * interactive replies overtake notifications once due, and failed calls are retried honoring
+ * {@code retry_after} on HTTP 429. Calls to one chat are delivered one after another, and while a call
+ * waits for its retry the later calls to that chat are held back until it is sent or given up.
+ */
+@Component
+public class OutboundQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboundQueue.class);
+
+    public enum Lane {
+        INTERACTIVE,
+        NOTIFICATION
+    }
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final PriorityQueue<Outgoing> scheduled = new PriorityQueue<>(Comparator.comparingLong(Outgoing::readyAt));
+    private final PriorityQueue<Outgoing> ready = new PriorityQueue<>(
+            Comparator.comparing(Outgoing::lane).thenComparingLong(Outgoing::seq));
+    private final Map<String, Long> chatTat = new HashMap<>();
+    private final Map<String, Hold> holds = new HashMap<>();
+    private final Map<String, CompletableFuture<Void>> chatTails = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final long globalIntervalNanos;
+    private final long chatIntervalNanos;
+    private final long chatToleranceNanos;
+    private final int maxAttempts;
+    private final long backoffNanos;
+
+    private final Counter sentInteractive;
+    private final Counter sentNotification;
+    private final Counter retries;
+    private final Counter failures;
+    private final Timer queueDelay;
+
+    private long globalTat;
+    private AbsSender sender;
+    private Thread pump;
+    private volatile boolean running;
+
+    public OutboundQueue(@Value("${telegram.bot.outbound.global-per-second:25}") double globalPerSecond,
+                         @Value("${telegram.bot.outbound.chat-per-second:1.0}") double chatPerSecond,
+                         @Value("${telegram.bot.outbound.chat-burst:3}") int chatBurst,
+                         @Value("${telegram.bot.outbound.max-attempts:5}") int maxAttempts,
+                         @Value("${telegram.bot.outbound.backoff:PT1S}") Duration backoff,
+                         MeterRegistry meterRegistry) {
+        this.globalIntervalNanos = (long) (1_000_000_000L / globalPerSecond);
+        this.chatIntervalNanos = (long) (1_000_000_000L / chatPerSecond);
+        this.chatToleranceNanos = (chatBurst - 1) * chatIntervalNanos;
+        this.maxAttempts = maxAttempts;
+        this.backoffNanos = backoff.toNanos();
+        this.sentInteractive = Counter.builder("bot.outbound.sent").tag("lane", "interactive").register(meterRegistry);
+        this.sentNotification = Counter.builder("bot.outbound.sent").tag("lane", "notification").register(meterRegistry);
+        this.retries = Counter.builder("bot.outbound.retries")
+                .description("Bot API calls scheduled again after a 429 or a transient failure")
+                .register(meterRegistry);
+        this.failures = Counter.builder("bot.outbound.failed")
+                .description("Bot API calls dropped after a permanent error or the last attempt")
+                .register(meterRegistry);
+        this.queueDelay = Timer.builder("bot.outbound.delay")
+                .description("Time between queueing a call and sending it")
+                .register(meterRegistry);
+        Gauge.builder("bot.outbound.pending", pending, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public void start(AbsSender sender) {
+        this.sender = sender;
+        this.running = true;
+        this.pump = Thread.ofPlatform().name("telegram-outbound").daemon().start(this::pumpLoop);
+    }
+
+    /**
+     * Queues a call. {@code chatId} is used for per-chat pacing and ordering; pass {@code null}
+     * for calls that are not subject to the chat limit, such as callback answers.
+     */
+    public void submit(String chatId, BotApiMethod<?> method, Lane lane) {
+        submit(chatId, method, lane, null, null);
+    }
+
+    public void submit(String chatId, BotApiMethod<?> method, Lane lane, Runnable onSent, Consumer<Exception> onFailed) {
+        long now = System.nanoTime();
+        pending.incrementAndGet();
+        lock.lock();
+        try {
+            schedule(new Outgoing(chatId, method, lane, sequence.incrementAndGet(), reserveChatSlot(chatId, now), now, 1, onSent, onFailed));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long reserveChatSlot(String chatId, long now) {
+        if (chatId == null) {
+            return now;
+        }
+        long tat = chatTat.getOrDefault(chatId, now);
+        long sendAt = Math.max(now, tat - chatToleranceNanos);
+        chatTat.put(chatId, Math.max(tat, sendAt) + chatIntervalNanos);
+        return sendAt;
+    }
+
+    private void schedule(Outgoing outgoing) {
+        scheduled.add(outgoing);
+        changed.signal();
+    }
+
+    private void pumpLoop() {
+        while (running) {
+            try {
+                // Pick the call only once the global slot is free, so an interactive reply queued
+                // meanwhile still overtakes waiting notifications
+                awaitGlobalSlot();
+                Outgoing next = takeNext();
+                globalTat = Math.max(System.nanoTime(), globalTat) + globalIntervalNanos;
+                dispatch(next);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Outbound queue failed to dispatch a call", e);
+            }
+        }
+    }
+
+    private Outgoing takeNext() throws InterruptedException {
+        lock.lock();
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                while (!scheduled.isEmpty() && scheduled.peek().readyAt() <= now) {
+                    ready.add(scheduled.poll());
+                }
+                if (!ready.isEmpty()) {
+                    return ready.poll();
+                }
+                if (scheduled.isEmpty()) {
+                    changed.await();
+                } else {
+                    changed.awaitNanos(scheduled.peek().readyAt() - now);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitGlobalSlot() throws InterruptedException {
+        long wait = globalTat - System.nanoTime();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    private void dispatch(Outgoing outgoing) {
+        Runnable task = () -> deliver(outgoing);
+        if (outgoing.chatId() == null) {
+            executor.execute(task);
+            return;
+        }
+        CompletableFuture<Void> tail = chatTails.compute(outgoing.chatId(), (id, previous) -> previous == null
+                ? CompletableFuture.runAsync(task, executor)
+                : previous.thenRunAsync(task, executor));
+        tail.whenComplete((ignored, error) -> chatTails.remove(outgoing.chatId(), tail));
+    }
+
+    private void deliver(Outgoing outgoing) {
+        if (heldBack(outgoing)) {
+            return;
+        }
+        try {
+            sender.execute(outgoing.method());
+        } catch (TelegramApiRequestException e) {
+            Integer retryAfter = e.getParameters() != null ? e.getParameters().getRetryAfter() : null;
+            if (retryAfter != null) {
+                retry(outgoing, TimeUnit.SECONDS.toNanos(retryAfter), e);
+            } else if (e.getErrorCode() != null && e.getErrorCode() < 500) {
+                fail(outgoing, e);
+            } else {
+                retry(outgoing, backoffNanos << (outgoing.attempt() - 1), e);
+            }
+            return;
+        } catch (TelegramApiException e) {
+            retry(outgoing, backoffNanos << (outgoing.attempt() - 1), e);
+            return;
+        } catch (Exception e) {
+            fail(outgoing, e);
+            return;
+        }
+        release(outgoing);
+        pending.decrementAndGet();
+        queueDelay.record(System.nanoTime() - outgoing.queuedAt(), TimeUnit.NANOSECONDS);
+        (outgoing.lane() == Lane.INTERACTIVE ? sentInteractive : sentNotification).increment();
+        // Outside the try: a failing callback must not make a sent call look failed and be sent again
+        if (outgoing.onSent() != null) {
+            try {
+                outgoing.onSent().run();
+            } catch (RuntimeException e) {
+                logger.warn("Callback after sending {} to chat {} failed", outgoing.method().getMethod(), outgoing.chatId(), e);
+            }
+        }
+    }
+
+    private void retry(Outgoing outgoing, long delayNanos, Exception cause) {
+        if (outgoing.attempt() >= maxAttempts) {
+            fail(outgoing, cause);
+            return;
+        }
+        retries.increment();
+        logger.warn("Retrying {} to chat {} in {} ms (attempt {}): {}", outgoing.method().getMethod(), outgoing.chatId(),
+                TimeUnit.NANOSECONDS.toMillis(delayNanos), outgoing.attempt() + 1, cause.getMessage());
+        long readyAt = System.nanoTime() + delayNanos;
+        lock.lock();
+        try {
+            if (outgoing.chatId() != null) {
+                chatTat.merge(outgoing.chatId(), readyAt + chatIntervalNanos, Math::max);
+                holds.putIfAbsent(outgoing.chatId(), new Hold(outgoing.seq()));
+            }
+            schedule(outgoing.rescheduled(readyAt, outgoing.attempt() + 1));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Parks a call while an earlier call to the same chat waits for its retry.
+     */
+    private boolean heldBack(Outgoing outgoing) {
+        if (outgoing.chatId() == null) {
+            return false;
+        }
+        lock.lock();
+        try {
+            Hold hold = holds.get(outgoing.chatId());
+            if (hold == null || hold.seq() == outgoing.seq()) {
+                return false;
+            }
+            hold.parked().add(outgoing);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Once the retried call is sent or given up, queues the calls parked behind it in their original order.
+     */
+    private void release(Outgoing outgoing) {
+        if (outgoing.chatId() == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            Hold hold = holds.get(outgoing.chatId());
+            if (hold == null || hold.seq() != outgoing.seq()) {
+                return;
+            }
+            holds.remove(outgoing.chatId());
+            // Parked calls already used their chat slots; due now, they go out ahead of later calls by sequence
+            long now = System.nanoTime();
+            for (Outgoing parked : hold.parked()) {
+                schedule(parked.rescheduled(now, parked.attempt()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void fail(Outgoing outgoing, Exception cause) {
+        release(outgoing);
+        pending.decrementAndGet();
+        if (outgoing.onFailed() != null) {
+            outgoing.onFailed().accept(cause);
+            return;
+        }
+        failures.increment();
+        logger.error("Failed to send {} to chat {} after {} attempt(s)", outgoing.method().getMethod(), outgoing.chatId(),
+                outgoing.attempt(), cause);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (pump != null) {
+            pump.interrupt();
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        if (pending.get() > 0) {
+            logger.warn("Outbound queue stopped with {} unsent calls", pending.get());
+        }
+    }
+
+    private record Outgoing(String chatId, BotApiMethod<?> method, Lane lane, long seq, long readyAt, long queuedAt,
+                            int attempt, Runnable onSent, Consumer<Exception> onFailed) {
+        Outgoing rescheduled(long readyAt, int attempt) {
+            return new Outgoing(chatId, method, lane, seq, readyAt, queuedAt, attempt, onSent, onFailed);
+        }
+    }
+
+    private record Hold(long seq, List<Outgoing> parked) {
+        Hold(long seq) {
+            this(seq, new ArrayList<>());
+        }
+    }
+}
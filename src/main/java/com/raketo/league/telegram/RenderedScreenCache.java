@@ -0,0 +1,71 @@
+package com.raketo.league.telegram;
+
+import com.raketo.league.model.Language;
+import com.raketo.league.model.Player;
+import com.raketo.league.service.ScheduleDataVersions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Least recently used screens, keyed by player, screen, language and the {@link ScheduleDataVersions} the
+ * screen was rendered under. A write that moves those versions makes the old entry unreachable, so it is
+ * never served again and ages out of the cache.
+ */
+@Component
+public class RenderedScreenCache {
+
+    public record Screen(String text, InlineKeyboardMarkup keyboard) {
+        public SendMessage toMessage(Long chatId) {
+            return SendMessage.builder().chatId(chatId.toString()).text(text).replyMarkup(keyboard).build();
+        }
+    }
+
+    private final ScheduleDataVersions dataVersions;
+    private final Map<Key, Screen> screens;
+    private final Counter hits;
+    private final Counter misses;
+
+    public RenderedScreenCache(ScheduleDataVersions dataVersions,
+                               @Value("${app.screen-cache.max-size:2000}") int maxSize,
+                               MeterRegistry meterRegistry) {
+        this.dataVersions = dataVersions;
+        this.screens = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Screen> eldest) {
+                return size() > maxSize;
+            }
+        });
+        this.hits = Counter.builder("bot.screens.cache.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("bot.screens.cache.lookups").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("bot.screens.cache.size", screens, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * @param dataVersion the version of the data the screen shows, read before {@code render} runs so that
+     *                    a write made while rendering leaves the result unreachable
+     */
+    public Screen get(Player player, String screen, long dataVersion, Supplier<Screen> render) {
+        Key key = new Key(player.getId(), screen, player.getLanguage(), dataVersions.global(), dataVersion);
+        Screen cached = screens.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        Screen rendered = render.get();
+        screens.put(key, rendered);
+        return rendered;
+    }
+
+    private record Key(Long playerId, String screen, Language language, long globalVersion, long dataVersion) {}
+}
@@ -0,0 +1,133 @@
+package com.raketo.league.telegram;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageReplyMarkup;
+import org.telegram.telegrambots.meta.api.methods.updatingmessages.EditMessageText;
+import org.telegram.telegrambots.meta.api.objects.Message;
+import org.telegram.telegrambots.meta.api.objects.replykeyboard.InlineKeyboardMarkup;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shows a screen by editing the message whose button was pressed. The call is skipped when the SHA-256 digests
+ * of the text and keyboard match what the message already shows, and a new message is sent when the edit is not possible.
+ */
+@Component
+public class ScreenPresenter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScreenPresenter.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final OutboundQueue outboundQueue;
+    private final Map<String, ScreenDigest> shown;
+    private final Counter edited;
+    private final Counter skipped;
+    private final Counter sent;
+
+    public ScreenPresenter(OutboundQueue outboundQueue,
+                           @Value("${telegram.bot.screens.tracked-messages:10000}") int trackedMessages,
+                           MeterRegistry meterRegistry) {
+        this.outboundQueue = outboundQueue;
+        this.shown = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ScreenDigest> eldest) {
+                return size() > trackedMessages;
+            }
+        });
+        this.edited = Counter.builder("bot.screens").tag("result", "edited").register(meterRegistry);
+        this.skipped = Counter.builder("bot.screens").tag("result", "unchanged").register(meterRegistry);
+        this.sent = Counter.builder("bot.screens").tag("result", "sent").register(meterRegistry);
+    }
+
+    /**
+     * @param origin the message carrying the pressed button, or {@code null} when the screen was opened by a command
+     */
+    public void show(SendMessage screen, Message origin) {
+        if (origin == null || !screen.getChatId().equals(origin.getChatId().toString())
+                || (screen.getReplyMarkup() != null && !(screen.getReplyMarkup() instanceof InlineKeyboardMarkup))) {
+            send(screen);
+            return;
+        }
+        InlineKeyboardMarkup keyboard = (InlineKeyboardMarkup) screen.getReplyMarkup();
+        String key = origin.getChatId() + ":" + origin.getMessageId();
+        ScreenDigest current = shown.get(key);
+        if (current == null) {
+            current = ScreenDigest.of(origin.getText(), origin.getReplyMarkup());
+        }
+        ScreenDigest next = ScreenDigest.of(screen.getText(), keyboard);
+        if (next.equals(current)) {
+            skipped.increment();
+            return;
+        }
+        shown.put(key, next);
+        edited.increment();
+        if (next.text().equals(current.text())) {
+            outboundQueue.submit(screen.getChatId(), EditMessageReplyMarkup.builder()
+                    .chatId(screen.getChatId())
+                    .messageId(origin.getMessageId())
+                    .replyMarkup(keyboard)
+                    .build(), OutboundQueue.Lane.INTERACTIVE, null, e -> onEditFailed(key, screen, e));
+        } else {
+            outboundQueue.submit(screen.getChatId(), EditMessageText.builder()
+                    .chatId(screen.getChatId())
+                    .messageId(origin.getMessageId())
+                    .text(screen.getText())
+                    .parseMode(screen.getParseMode())
+                    .replyMarkup(keyboard)
+                    .build(), OutboundQueue.Lane.INTERACTIVE, null, e -> onEditFailed(key, screen, e));
+        }
+    }
+
+    private void onEditFailed(String key, SendMessage screen, Exception cause) {
+        if (cause instanceof TelegramApiRequestException requestException && requestException.getApiResponse() != null
+                && requestException.getApiResponse().contains("message is not modified")) {
+            return;
+        }
+        shown.remove(key);
+        logger.debug("Editing message {} failed, sending the screen as a new message: {}", key, cause.getMessage());
+        send(screen);
+    }
+
+    private void send(SendMessage screen) {
+        sent.increment();
+        outboundQueue.submit(screen.getChatId(), screen, OutboundQueue.Lane.INTERACTIVE);
+    }
+
+    private record ScreenDigest(String text, String keyboard) {
+        static ScreenDigest of(String text, InlineKeyboardMarkup keyboard) {
+            return new ScreenDigest(sha256(text != null ? text.getBytes(StandardCharsets.UTF_8) : new byte[0]),
+                    sha256(keyboard != null ? serialize(keyboard) : new byte[0]));
+        }
+
+        private static byte[] serialize(InlineKeyboardMarkup keyboard) {
+            try {
+                return OBJECT_MAPPER.writeValueAsBytes(keyboard);
+            } catch (JsonProcessingException e) {
+                return keyboard.toString().getBytes(StandardCharsets.UTF_8);
+            }
+        }
+
+        private static String sha256(byte[] bytes) {
+            try {
+                return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package com.raketo.league.telegram;
 
+import com.raketo.league.model.Language;
+import com.raketo.league.monitoring.SqlActivityRecorder;
 import com.raketo.league.service.AdminService;
+import com.raketo.league.service.LocalizationService;
+import com.raketo.league.telegram.callback.ResolvedCallback;
 import com.raketo.league.telegram.handler.AdminCommandHandler;
 import com.raketo.league.telegram.handler.PlayerCommandHandler;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.bots.DefaultBotOptions;
 import org.telegram.telegrambots.bots.TelegramLongPollingBot;
+import org.telegram.telegrambots.meta.ApiConstants;
+import org.telegram.telegrambots.meta.api.methods.AnswerCallbackQuery;
 import org.telegram.telegrambots.meta.api.methods.send.SendMessage;
+import org.telegram.telegrambots.meta.api.objects.Message;
 import org.telegram.telegrambots.meta.api.objects.Update;
-import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import org.telegram.telegrambots.meta.api.objects.User;
 
 import java.util.List;
 
@@ -23,39 +32,181 @@ public class TelegramBot extends TelegramLongPollingBot {
     private final AdminService adminService;
     private final AdminCommandHandler adminCommandHandler;
     private final PlayerCommandHandler playerCommandHandler;
+    private final UpdateDispatcher updateDispatcher;
+    private final UpdateDeduplicator updateDeduplicator;
+    private final UserRateLimiter userRateLimiter;
+    private final LocalizationService localizationService;
+    private final OutboundQueue outboundQueue;
+    private final CallbackAcknowledger callbackAcknowledger;
+    private final ScreenPresenter screenPresenter;
+    private final SqlActivityRecorder sqlActivityRecorder;
+
+    private static final ThreadLocal<String> REPLY_CHAT = new ThreadLocal<>();
+    private static final ThreadLocal<Message> CALLBACK_ORIGIN = new ThreadLocal<>();
 
     public TelegramBot(
             @Value("${telegram.bot.token}") String botToken,
             @Value("${telegram.bot.username}") String botUsername,
+            @Value("${telegram.bot.api-url:" + ApiConstants.BASE_URL + "}") String apiUrl,
             AdminService adminService,
             AdminCommandHandler adminCommandHandler,
-            PlayerCommandHandler playerCommandHandler) {
-        super(botToken);
+            PlayerCommandHandler playerCommandHandler,
+            UpdateDispatcher updateDispatcher,
+            UpdateDeduplicator updateDeduplicator,
+            UserRateLimiter userRateLimiter,
+            LocalizationService localizationService,
+            OutboundQueue outboundQueue,
+            CallbackAcknowledger callbackAcknowledger,
+            ScreenPresenter screenPresenter,
+            SqlActivityRecorder sqlActivityRecorder) {
+        super(botOptions(apiUrl), botToken);
         this.botUsername = botUsername;
         this.adminService = adminService;
         this.adminCommandHandler = adminCommandHandler;
         this.playerCommandHandler = playerCommandHandler;
+        this.updateDispatcher = updateDispatcher;
+        this.updateDeduplicator = updateDeduplicator;
+        this.userRateLimiter = userRateLimiter;
+        this.localizationService = localizationService;
+        this.outboundQueue = outboundQueue;
+        this.callbackAcknowledger = callbackAcknowledger;
+        this.screenPresenter = screenPresenter;
+        this.sqlActivityRecorder = sqlActivityRecorder;
+    }
+
+    private static DefaultBotOptions botOptions(String apiUrl) {
+        DefaultBotOptions options = new DefaultBotOptions();
+        options.setBaseUrl(apiUrl);
+        return options;
+    }
+
+    @PostConstruct
+    void startOutboundQueue() {
+        outboundQueue.start(this);
     }
 
     @Override
     public void onUpdateReceived(Update update) {
-        try {
+        long receivedAt = System.nanoTime();
+        if (!updateDeduplicator.firstDelivery(update)) {
+            return;
+        }
+        if (!admitUser(update, receivedAt)) {
+            updateDeduplicator.markProcessed(update);
+            return;
+        }
+        if (!updateDispatcher.tryDispatch(update, u -> processUpdate(u, receivedAt))) {
+            sendBusyNotice(update);
+            updateDeduplicator.markProcessed(update);
+            return;
+        }
+        acknowledgeCallback(update, receivedAt);
+    }
+
+    public boolean onWebhookUpdateReceived(Update update) {
+        long receivedAt = System.nanoTime();
+        if (!updateDeduplicator.firstDelivery(update)) {
+            return true;
+        }
+        if (!admitUser(update, receivedAt)) {
+            updateDeduplicator.markProcessed(update);
+            return true;
+        }
+        if (!updateDispatcher.tryDispatch(update, u -> processUpdate(u, receivedAt))) {
+            updateDeduplicator.forget(update);
+            return false;
+        }
+        acknowledgeCallback(update, receivedAt);
+        return true;
+    }
+
+    private void acknowledgeCallback(Update update, long receivedAt) {
+        if (update.hasCallbackQuery()) {
+            callbackAcknowledger.acknowledge(update.getCallbackQuery(), receivedAt);
+        }
+    }
+
+    private boolean admitUser(Update update, long receivedAt) {
+        User from = resolveSender(update);
+        UserRateLimiter.Decision decision = userRateLimiter.tryAcquire(from != null ? from.getId() : null);
+        if (decision == UserRateLimiter.Decision.REJECTED_NOTIFY) {
+            sendBusyNotice(update);
+        } else if (decision == UserRateLimiter.Decision.REJECTED_SILENT) {
+            acknowledgeCallback(update, receivedAt);
+        }
+        return decision == UserRateLimiter.Decision.ADMITTED;
+    }
+
+    private void sendBusyNotice(Update update) {
+        User from = resolveSender(update);
+        Language language = from != null && from.getLanguageCode() != null && from.getLanguageCode().startsWith("en")
+                ? Language.EN : Language.RU;
+        String text = localizationService.resolve(language, "player.busy");
+        if (update.hasCallbackQuery()) {
+            outboundQueue.submit(null, AnswerCallbackQuery.builder()
+                    .callbackQueryId(update.getCallbackQuery().getId())
+                    .text(text)
+                    .build(), OutboundQueue.Lane.INTERACTIVE);
+        } else if (update.hasMessage()) {
+            String chatId = update.getMessage().getChatId().toString();
+            outboundQueue.submit(chatId, SendMessage.builder().chatId(chatId).text(text).build(), OutboundQueue.Lane.INTERACTIVE);
+        }
+    }
+
+    private User resolveSender(Update update) {
+        if (update.hasMessage()) {
+            return update.getMessage().getFrom();
+        }
+        if (update.hasCallbackQuery()) {
+            return update.getCallbackQuery().getFrom();
+        }
+        return null;
+    }
+
+    private void processUpdate(Update update, long receivedAt) {
+        Long chatId = UpdateDispatcher.resolveChatId(update);
+        REPLY_CHAT.set(chatId != null ? chatId.toString() : null);
+        if (update.hasCallbackQuery() && update.getCallbackQuery().getMessage() instanceof Message origin) {
+            CALLBACK_ORIGIN.set(origin);
+        }
+        try (SqlActivityRecorder.Scope ignored = sqlActivityRecorder.begin(operationName(update))) {
             if (update.hasMessage() && update.getMessage().hasText()) {
                 handleTextMessage(update);
             } else if (update.hasCallbackQuery()) {
-                handleCallbackQuery(update);
+                callbackAcknowledger.runHandler(update.getCallbackQuery(), receivedAt, () -> handleCallbackQuery(update));
             }
         } catch (Exception e) {
             logger.error("Error processing update", e);
+        } finally {
+            REPLY_CHAT.remove();
+            CALLBACK_ORIGIN.remove();
+            updateDeduplicator.markProcessed(update);
         }
     }
 
+    /**
+     * The command or callback route of an update, used to tag its SQL metrics.
+     */
+    private String operationName(Update update) {
+        if (update.hasMessage() && update.getMessage().hasText()) {
+            BotCommand command = BotCommand.fromText(update.getMessage().getText());
+            return command != null ? "command:" + command.getCommand() : "message";
+        }
+        if (update.hasCallbackQuery()) {
+            String data = update.getCallbackQuery().getData();
+            return adminCommandHandler.resolveCallback(data)
+                    .or(() -> playerCommandHandler.resolveCallback(data))
+                    .map(route -> "callback:" + route.route())
+                    .orElse("callback:unknown");
+        }
+        return "update";
+    }
+
     private void handleTextMessage(Update update) {
         Long userId = update.getMessage().getFrom().getId();
         String text = update.getMessage().getText();
-        boolean isAdmin = adminService.isAdmin(userId);
 
-        if (isAdmin && BotCommand.isAdminCommand(text)) {
+        if (BotCommand.isAdminCommand(text) && adminService.isAdmin(userId)) {
             adminCommandHandler.handleCommand(update, this);
         } else {
             playerCommandHandler.handleCommand(update, this);
@@ -65,25 +216,15 @@ public class TelegramBot extends TelegramLongPollingBot {
     private void handleCallbackQuery(Update update) {
         Long userId = update.getCallbackQuery().getFrom().getId();
         String callbackData = update.getCallbackQuery().getData();
-        boolean isAdmin = adminService.isAdmin(userId);
 
-        if (isAdmin && isAdminCallback(callbackData)) {
-            adminCommandHandler.handleCallback(update, this);
+        ResolvedCallback adminRoute = adminCommandHandler.resolveCallback(callbackData).orElse(null);
+        if (adminRoute != null && adminService.isAdmin(userId)) {
+            adminCommandHandler.handleCallback(update, adminRoute, this);
         } else {
             playerCommandHandler.handleCallback(update, this);
         }
     }
 
-    private boolean isAdminCallback(String callbackData) {
-        if (callbackData == null) {
-            return false;
-        }
-        if (callbackData.startsWith("ADMIN_")) {
-            return true;
-        }
-        return callbackData.equals("ADMIN_MENU");
-    }
-
     private static final int MAX_MESSAGE_LENGTH = 4096;
 
     public void sendMessage(Long chatId, String text) {
@@ -99,15 +240,28 @@ public class TelegramBot extends TelegramLongPollingBot {
     }
 
     private void doSendMessage(Long chatId, String text) {
-        SendMessage message = SendMessage.builder()
+        send(SendMessage.builder()
                 .chatId(chatId.toString())
                 .text(text)
-                .build();
-        try {
-            execute(message);
-        } catch (TelegramApiException e) {
-            logger.error("Error sending message to chat {}", chatId, e);
-        }
+                .build());
+    }
+
+    /**
+     * Queues a message for delivery. Replies to the chat whose update is being handled go to the
+     * interactive lane; everything else (e.g. notifications to opponents) goes to the notification lane.
+     */
+    public void send(SendMessage message) {
+        String chatId = message.getChatId();
+        OutboundQueue.Lane lane = chatId.equals(REPLY_CHAT.get()) ? OutboundQueue.Lane.INTERACTIVE : OutboundQueue.Lane.NOTIFICATION;
+        outboundQueue.submit(chatId, message, lane);
+    }
+
+    /**
+     * Shows a navigation screen: when handling a button press the pressed message is edited in place,
+     * otherwise the screen is sent as a new message.
+     */
+    public void showScreen(SendMessage screen) {
+        screenPresenter.show(screen, CALLBACK_ORIGIN.get());
     }
 
     private List<String> splitMessage(String text, int maxLength) {
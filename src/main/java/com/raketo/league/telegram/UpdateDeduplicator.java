@@ -0,0 +1,209 @@
+package com.raketo.league.telegram;
+
+import com.raketo.league.model.BotUpdateWatermark;
+import com.raketo.league.repository.BotUpdateWatermarkRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drops updates Telegram delivers more than once. Ids seen recently are kept in memory; across restarts
+ * a low watermark is persisted in batches and everything at or below it is ignored. Updates for different
+ * chats finish out of order, so the watermark only advances up to the lowest update still in flight.
+ * <p>
+ * Telegram restarts update ids from a random value after a week without updates, so a watermark older
+ * than {@code max-age}, or an id more than {@code reset-gap} below it, starts a new sequence instead of
+ * being treated as a duplicate.
+ * <p>
+ * An update still in flight after {@code in-flight-timeout}, e.g. a webhook update that was refused and
+ * never redelivered, stops holding the watermark back.
+ */
+@Component
+public class UpdateDeduplicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpdateDeduplicator.class);
+
+    private final BotUpdateWatermarkRepository watermarkRepository;
+    private final String botUsername;
+    private final int batchSize;
+    private final Duration maxAge;
+    private final int resetGap;
+    private final long inFlightTimeoutNanos;
+    private final Set<Integer> recentIds;
+    private final Counter duplicateCounter;
+
+    // Accepted update ids not yet processed, with the System.nanoTime() they were last accepted at
+    private final TreeMap<Integer, Long> inFlight = new TreeMap<>();
+
+    private int persistedWatermark;
+    private int processedWatermark;
+    private int highestAccepted;
+    private int pendingSinceFlush;
+    private LocalDateTime lastAdvancedAt = LocalDateTime.now();
+
+    public UpdateDeduplicator(BotUpdateWatermarkRepository watermarkRepository,
+                              @Value("${telegram.bot.username}") String botUsername,
+                              @Value("${telegram.bot.dedup.window-size:1024}") int windowSize,
+                              @Value("${telegram.bot.dedup.batch-size:20}") int batchSize,
+                              @Value("${telegram.bot.dedup.max-age:P7D}") Duration maxAge,
+                              @Value("${telegram.bot.dedup.reset-gap:100000}") int resetGap,
+                              @Value("${telegram.bot.dedup.in-flight-timeout:PT10M}") Duration inFlightTimeout,
+                              MeterRegistry meterRegistry) {
+        this.watermarkRepository = watermarkRepository;
+        this.botUsername = botUsername;
+        this.batchSize = batchSize;
+        this.maxAge = maxAge;
+        this.resetGap = resetGap;
+        this.inFlightTimeoutNanos = inFlightTimeout.toNanos();
+        this.recentIds = Collections.newSetFromMap(new LinkedHashMap<>(windowSize * 2) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Boolean> eldest) {
+                return size() > windowSize;
+            }
+        });
+        this.duplicateCounter = Counter.builder("bot.updates.duplicates")
+                .description("Updates dropped because they were already received or processed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void loadWatermark() {
+        BotUpdateWatermark stored = watermarkRepository.findById(botUsername).orElse(null);
+        persistedWatermark = stored != null ? stored.getLastUpdateId() : 0;
+        if (stored != null && isStale(stored.getUpdatedAt())) {
+            logger.info("Ignoring update watermark {} for bot {} last advanced at {}", persistedWatermark, botUsername, stored.getUpdatedAt());
+            processedWatermark = 0;
+        } else {
+            processedWatermark = persistedWatermark;
+            if (stored != null) {
+                lastAdvancedAt = stored.getUpdatedAt();
+            }
+            logger.info("Loaded update watermark {} for bot {}", persistedWatermark, botUsername);
+        }
+        highestAccepted = processedWatermark;
+    }
+
+    public synchronized boolean firstDelivery(Update update) {
+        Integer updateId = update.getUpdateId();
+        if (updateId == null) {
+            return true;
+        }
+        if (updateId <= processedWatermark && (processedWatermark - updateId > resetGap || isStale(lastAdvancedAt))) {
+            logger.warn("Update {} is far below watermark {} last advanced at {}, starting a new update id sequence",
+                    updateId, processedWatermark, lastAdvancedAt);
+            processedWatermark = updateId - 1;
+            highestAccepted = processedWatermark;
+            inFlight.clear();
+            recentIds.clear();
+            lastAdvancedAt = LocalDateTime.now();
+        }
+        if (updateId <= processedWatermark || !recentIds.add(updateId)) {
+            duplicateCounter.increment();
+            logger.info("Dropping duplicate update {}", updateId);
+            return false;
+        }
+        inFlight.put(updateId, System.nanoTime());
+        highestAccepted = Math.max(highestAccepted, updateId);
+        return true;
+    }
+
+    /**
+     * Lets a redelivery of the update through. It stays in flight, so the watermark cannot pass it
+     * before the redelivery has been handled or {@code in-flight-timeout} has passed.
+     */
+    public synchronized void forget(Update update) {
+        recentIds.remove(update.getUpdateId());
+    }
+
+    /**
+     * Called once an accepted update is handled or deliberately dropped.
+     */
+    public void markProcessed(Update update) {
+        Integer updateId = update.getUpdateId();
+        if (updateId == null) {
+            return;
+        }
+        boolean flushNow;
+        synchronized (this) {
+            if (inFlight.remove(updateId) == null) {
+                return;
+            }
+            advanceWatermark();
+            flushNow = ++pendingSinceFlush >= batchSize;
+        }
+        if (flushNow) {
+            flush();
+        }
+    }
+
+    private void advanceWatermark() {
+        int contiguous = inFlight.isEmpty() ? highestAccepted : inFlight.firstKey() - 1;
+        if (contiguous > processedWatermark) {
+            processedWatermark = contiguous;
+            lastAdvancedAt = LocalDateTime.now();
+        }
+    }
+
+    private void expireInFlight() {
+        long now = System.nanoTime();
+        List<Integer> expired = new ArrayList<>();
+        inFlight.entrySet().removeIf(entry -> now - entry.getValue() > inFlightTimeoutNanos && expired.add(entry.getKey()));
+        if (!expired.isEmpty()) {
+            logger.warn("Updates {} were in flight for over {} s, no longer holding the watermark back for them",
+                    expired, TimeUnit.NANOSECONDS.toSeconds(inFlightTimeoutNanos));
+            advanceWatermark();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${telegram.bot.dedup.flush-interval:PT5S}")
+    public void flush() {
+        int target;
+        synchronized (this) {
+            expireInFlight();
+            if (processedWatermark == persistedWatermark) {
+                return;
+            }
+            target = processedWatermark;
+            pendingSinceFlush = 0;
+        }
+        try {
+            watermarkRepository.save(BotUpdateWatermark.builder()
+                    .botUsername(botUsername)
+                    .lastUpdateId(target)
+                    .updatedAt(LocalDateTime.now())
+                    .build());
+            synchronized (this) {
+                persistedWatermark = target;
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to persist update watermark {}", target, e);
+        }
+    }
+
+    private boolean isStale(LocalDateTime advancedAt) {
+        return advancedAt != null && advancedAt.isBefore(LocalDateTime.now().minus(maxAge));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
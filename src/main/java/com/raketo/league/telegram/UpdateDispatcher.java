@@ -0,0 +1,176 @@
+package com.raketo.league.telegram;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.meta.api.objects.Update;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs updates on virtual threads. Updates of one chat are chained so they keep arrival order,
+ * and a semaphore caps how many are processed at once so the connection pool is not exhausted.
+ * A failed update does not hold up the ones queued behind it in its chat.
+ */
+@Component
+public class UpdateDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpdateDispatcher.class);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Long, CompletableFuture<Void>> chatTails = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Semaphore permits;
+    private final int queueCapacity;
+    private final Counter rejectedCounter;
+    private final Counter delayedCounter;
+    private final Timer waitTimer;
+    private final Timer processTimer;
+
+    public UpdateDispatcher(
+            @Value("${telegram.bot.dispatcher.max-concurrent:4}") int maxConcurrent,
+            @Value("${telegram.bot.dispatcher.queue-capacity:500}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.queueCapacity = queueCapacity;
+        Gauge.builder("bot.updates.queued", queued, AtomicInteger::get)
+                .description("Updates waiting for their chat turn or a free processing slot")
+                .register(meterRegistry);
+        Gauge.builder("bot.updates.active.chats", chatTails, Map::size)
+                .description("Chats with updates queued or in progress")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("bot.updates.rejected")
+                .tag("reason", "queue_full")
+                .description("Updates refused because the dispatch queue was full")
+                .register(meterRegistry);
+        this.delayedCounter = Counter.builder("bot.updates.delayed")
+                .description("Updates that had to wait for a free processing slot")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("bot.updates.wait")
+                .description("Time an update spends queued behind its chat and the concurrency limit")
+                .register(meterRegistry);
+        this.processTimer = Timer.builder("bot.updates.process")
+                .description("Time spent handling an update")
+                .register(meterRegistry);
+        logger.info("Update dispatcher started maxConcurrent={} queueCapacity={}", maxConcurrent, queueCapacity);
+    }
+
+    /**
+     * Queues the update unless the queue is full or the dispatcher is shutting down.
+     */
+    public boolean tryDispatch(Update update, Consumer<Update> processor) {
+        int current;
+        do {
+            current = queued.get();
+            if (current >= queueCapacity) {
+                rejectedCounter.increment();
+                logger.warn("Dispatch queue full, rejecting update {}", update.getUpdateId());
+                return false;
+            }
+        } while (!queued.compareAndSet(current, current + 1));
+        return enqueue(update, processor);
+    }
+
+    public void dispatch(Update update, Consumer<Update> processor) {
+        queued.incrementAndGet();
+        enqueue(update, processor);
+    }
+
+    private boolean enqueue(Update update, Consumer<Update> processor) {
+        long enqueuedAt = System.nanoTime();
+        Runnable task = () -> run(update, processor, enqueuedAt);
+        Long chatId = resolveChatId(update);
+        try {
+            if (chatId == null) {
+                executor.execute(task);
+                return true;
+            }
+            // handle() lets the next update run even when the previous one ended exceptionally
+            CompletableFuture<Void> tail = chatTails.compute(chatId, (id, previous) -> previous == null
+                    ? CompletableFuture.runAsync(task, executor)
+                    : previous.handle((ignored, error) -> null).thenRunAsync(task, executor));
+            tail.whenComplete((ignored, error) -> {
+                chatTails.remove(chatId, tail);
+                if (error instanceof CompletionException && error.getCause() instanceof RejectedExecutionException) {
+                    queued.decrementAndGet();
+                    logger.warn("Dropped update {} on shutdown", update.getUpdateId());
+                } else if (error != null) {
+                    logger.error("Update {} of chat {} failed", update.getUpdateId(), chatId, error);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            logger.warn("Dispatcher is shutting down, rejecting update {}", update.getUpdateId());
+            return false;
+        }
+    }
+
+    private void run(Update update, Consumer<Update> processor, long enqueuedAt) {
+        try {
+            if (!permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                delayedCounter.increment();
+                permits.acquire();
+            }
+        } catch (InterruptedException e) {
+            queued.decrementAndGet();
+            Thread.currentThread().interrupt();
+            logger.warn("Dropped update {} on shutdown", update.getUpdateId());
+            return;
+        }
+        queued.decrementAndGet();
+        waitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+        long startedAt = System.nanoTime();
+        try {
+            processor.accept(update);
+        } catch (Exception e) {
+            logger.error("Error processing update {}", update.getUpdateId(), e);
+        } finally {
+            permits.release();
+            processTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static Long resolveChatId(Update update) {
+        if (update.hasMessage()) {
+            return update.getMessage().getChatId();
+        }
+        if (update.hasCallbackQuery()) {
+            if (update.getCallbackQuery().getMessage() != null) {
+                return update.getCallbackQuery().getMessage().getChatId();
+            }
+            return update.getCallbackQuery().getFrom().getId();
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Update dispatcher did not drain in time, {} updates still queued", queued.get());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
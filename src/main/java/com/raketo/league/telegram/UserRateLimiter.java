@@ -0,0 +1,97 @@
+package com.raketo.league.telegram;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token bucket per telegram user, so one user tapping buttons quickly cannot take every processing slot.
+ */
+@Component
+public class UserRateLimiter {
+
+    private final Map<Long, Bucket> buckets = new ConcurrentHashMap<>();
+    private final double burst;
+    private final double tokensPerNano;
+    private final long noticeIntervalNanos;
+    private final Counter rejectedCounter;
+
+    public UserRateLimiter(@Value("${telegram.bot.admission.user-burst:5}") int burst,
+                           @Value("${telegram.bot.admission.user-rate-per-second:1.0}") double ratePerSecond,
+                           @Value("${telegram.bot.admission.busy-notice-interval:PT5S}") Duration noticeInterval,
+                           MeterRegistry meterRegistry) {
+        this.burst = burst;
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.noticeIntervalNanos = noticeInterval.toNanos();
+        this.rejectedCounter = Counter.builder("bot.updates.rejected")
+                .tag("reason", "user_rate")
+                .description("Updates refused because the user exceeded their rate")
+                .register(meterRegistry);
+        Gauge.builder("bot.admission.tracked.users", buckets, Map::size).register(meterRegistry);
+    }
+
+    public Decision tryAcquire(Long userId) {
+        if (userId == null) {
+            return Decision.ADMITTED;
+        }
+        Decision decision = buckets.computeIfAbsent(userId, id -> new Bucket(burst)).tryConsume(System.nanoTime());
+        if (decision != Decision.ADMITTED) {
+            rejectedCounter.increment();
+        }
+        return decision;
+    }
+
+    @Scheduled(fixedDelay = 600_000)
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    public enum Decision {
+        ADMITTED,
+        REJECTED_NOTIFY,
+        REJECTED_SILENT
+    }
+
+    private final class Bucket {
+        private double tokens;
+        private long refilledAt;
+        private long notifiedAt;
+
+        Bucket(double tokens) {
+            this.tokens = tokens;
+            this.refilledAt = System.nanoTime();
+            this.notifiedAt = refilledAt - noticeIntervalNanos;
+        }
+
+        synchronized Decision tryConsume(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return Decision.ADMITTED;
+            }
+            if (now - notifiedAt >= noticeIntervalNanos) {
+                notifiedAt = now;
+                return Decision.REJECTED_NOTIFY;
+            }
+            return Decision.REJECTED_SILENT;
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= burst;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
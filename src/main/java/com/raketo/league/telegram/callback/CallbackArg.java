@@ -0,0 +1,29 @@
+package com.raketo.league.telegram.callback;
+
+public enum CallbackArg {
+    NONE,
+    ID,
+    NAME;
+
+    private static final int MAX_ID_DIGITS = 18;
+
+    Object parse(String raw) {
+        switch (this) {
+            case ID:
+                if (raw.isEmpty() || raw.length() > MAX_ID_DIGITS) return null;
+                for (int i = 0; i < raw.length(); i++) {
+                    if (!Character.isDigit(raw.charAt(i))) return null;
+                }
+                return Long.parseLong(raw);
+            case NAME:
+                if (raw.isEmpty()) return null;
+                for (int i = 0; i < raw.length(); i++) {
+                    char c = raw.charAt(i);
+                    if (!(c >= 'A' && c <= 'Z') && !Character.isDigit(c) && c != '_') return null;
+                }
+                return raw;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.raketo.league.telegram.callback;
+
+import com.raketo.league.model.Player;
+import com.raketo.league.telegram.TelegramBot;
+
+public record CallbackContext(Long chatId, Long userId, String username, Player player, TelegramBot bot, Object argument) {
+
+    public Long id() {
+        return (Long) argument;
+    }
+
+    public String name() {
+        return (String) argument;
+    }
+}
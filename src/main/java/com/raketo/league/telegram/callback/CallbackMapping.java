@@ -0,0 +1,19 @@
+package com.raketo.league.telegram.callback;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler method as the target of callback data. With {@link CallbackArg#NONE} the values are
+ * matched exactly, otherwise they are prefixes followed by an argument of the given type.
+ * The method must take a single {@link CallbackContext}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CallbackMapping {
+    String[] value();
+
+    CallbackArg arg() default CallbackArg.NONE;
+}
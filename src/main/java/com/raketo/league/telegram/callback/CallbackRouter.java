@@ -0,0 +1,79 @@
+package com.raketo.league.telegram.callback;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resolves callback data to an annotated handler method. Exact routes are a single map lookup;
+ * argument routes are found by trying the prefixes ending at each '_' from the longest down,
+ * so the cost depends on the length of the data, not on the number of routes.
+ */
+public final class CallbackRouter {
+    private final Map<String, Route> exactRoutes = new HashMap<>();
+    private final Map<String, Route> prefixRoutes = new HashMap<>();
+
+    private CallbackRouter() {
+    }
+
+    public static CallbackRouter forHandler(Object handler) {
+        CallbackRouter router = new CallbackRouter();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        for (Method method : handler.getClass().getDeclaredMethods()) {
+            CallbackMapping mapping = method.getAnnotation(CallbackMapping.class);
+            if (mapping == null) {
+                continue;
+            }
+            if (method.getParameterCount() != 1 || method.getParameterTypes()[0] != CallbackContext.class) {
+                throw new IllegalStateException("@CallbackMapping method must take a single CallbackContext: " + method);
+            }
+            MethodHandle handle;
+            try {
+                method.setAccessible(true);
+                handle = lookup.unreflect(method).bindTo(handler);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot access callback handler " + method, e);
+            }
+            for (String key : mapping.value()) {
+                router.register(key, mapping.arg(), handle);
+            }
+        }
+        return router;
+    }
+
+    private void register(String key, CallbackArg arg, MethodHandle handle) {
+        Map<String, Route> target = arg == CallbackArg.NONE ? exactRoutes : prefixRoutes;
+        if (arg != CallbackArg.NONE && !key.endsWith("_")) {
+            throw new IllegalStateException("Callback prefix must end with '_': " + key);
+        }
+        if (target.putIfAbsent(key, new Route(key, arg, handle)) != null) {
+            throw new IllegalStateException("Duplicate callback route: " + key);
+        }
+    }
+
+    public Optional<ResolvedCallback> resolve(String data) {
+        if (data == null || data.isEmpty()) {
+            return Optional.empty();
+        }
+        Route exact = exactRoutes.get(data);
+        if (exact != null) {
+            return Optional.of(new ResolvedCallback(exact.key(), null, exact.handle()));
+        }
+        for (int i = data.lastIndexOf('_'); i > 0; i = data.lastIndexOf('_', i - 1)) {
+            Route route = prefixRoutes.get(data.substring(0, i + 1));
+            if (route != null) {
+                Object argument = route.arg().parse(data.substring(i + 1));
+                if (argument == null) {
+                    return Optional.empty();
+                }
+                return Optional.of(new ResolvedCallback(route.key(), argument, route.handle()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private record Route(String key, CallbackArg arg, MethodHandle handle) {}
+}
@@ -0,0 +1,16 @@
+package com.raketo.league.telegram.callback;
+
+import java.lang.invoke.MethodHandle;
+
+public record ResolvedCallback(String route, Object argument, MethodHandle handle) {
+
+    public void invoke(CallbackContext context) {
+        try {
+            handle.invoke(context);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Callback handler failed for route " + route, t);
+        }
+    }
+}
@@ -4,6 +4,12 @@ import com.raketo.league.model.*;
 import com.raketo.league.service.*;
 import com.raketo.league.telegram.BotCommand;
 import com.raketo.league.telegram.TelegramBot;
+import com.raketo.league.telegram.callback.CallbackArg;
+import com.raketo.league.telegram.callback.CallbackContext;
+import com.raketo.league.telegram.callback.CallbackMapping;
+import com.raketo.league.telegram.callback.CallbackRouter;
+import com.raketo.league.telegram.callback.ResolvedCallback;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +23,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -27,53 +34,68 @@ public class AdminCommandHandler {
     private final TournamentService tournamentService;
     private final DivisionService divisionService;
     private final ScheduleService scheduleService;
+    private final AvailabilityService availabilityService;
     private final LocalizationService localizationService;
+    private CallbackRouter callbackRouter;
+
+    @PostConstruct
+    void initCallbackRouter() {
+        callbackRouter = CallbackRouter.forHandler(this);
+    }
 
     public void handleCommand(Update update, TelegramBot bot) {
         String text = update.getMessage().getText();
         Long chatId = update.getMessage().getChatId();
         Player player = playerService.findByTelegramId(chatId).orElse(null);
-        if (BotCommand.START.matches(text)) {
-            handleStartCommand(chatId, bot, player);
-        } else if (BotCommand.ADMIN.matches(text)) {
-            handleAdminCommand(chatId, bot, player);
-        } else if (BotCommand.CREATE_TOURNAMENT.matches(text)) {
-            handleCreateTournamentCommand(chatId, text, bot, player);
-        } else if (BotCommand.ADD_PLAYER.matches(text)) {
-            handleAddPlayerCommand(chatId, text, bot, player);
-        } else if (BotCommand.VIEW_TOUR_SCHEDULE.matches(text)) {
-            handleViewTourScheduleCommand(chatId, text, bot, player);
-        } else if (BotCommand.VIEW_SCHEDULE.matches(text)) {
-            handleViewScheduleCommand(chatId, text, bot, player);
-        } else if (BotCommand.LIST_TOURNAMENTS.matches(text)) {
-            handleListTournaments(chatId, bot, player);
-        } else if (BotCommand.LIST_PLAYERS.matches(text)) {
-            handleListPlayers(chatId, bot, player);
-        } else if (BotCommand.LIST_DIVISIONS.matches(text)) {
-            handleListDivisions(chatId, bot, player);
-        } else if (BotCommand.ASSIGN_PLAYER.matches(text)) {
-            handleAssignPlayer(chatId, text, bot, player);
-        } else if (BotCommand.GENERATE_TOURS.matches(text)) {
-            handleGenerateTours(chatId, text, bot, player);
-        } else if (BotCommand.REGENERATE_TOURS.matches(text)) {
-            handleRegenerateTours(chatId, text, bot, player);
-        } else {
+        BotCommand command = BotCommand.fromText(text);
+        if (command == null) {
             bot.sendMessage(chatId, localizationService.msg(player, "admin.unknown.command"));
+            return;
+        }
+        switch (command) {
+            case START -> handleStartCommand(chatId, bot, player);
+            case ADMIN -> handleAdminCommand(chatId, bot, player);
+            case CREATE_TOURNAMENT -> handleCreateTournamentCommand(chatId, text, bot, player);
+            case ADD_PLAYER -> handleAddPlayerCommand(chatId, text, bot, player);
+            case VIEW_TOUR_SCHEDULE -> handleViewTourScheduleCommand(chatId, text, bot, player);
+            case VIEW_SCHEDULE -> handleViewScheduleCommand(chatId, text, bot, player);
+            case LIST_TOURNAMENTS -> handleListTournaments(chatId, bot, player);
+            case LIST_PLAYERS -> handleListPlayers(chatId, bot, player);
+            case LIST_DIVISIONS -> handleListDivisions(chatId, bot, player);
+            case ASSIGN_PLAYER -> handleAssignPlayer(chatId, text, bot, player);
+            case GENERATE_TOURS -> handleGenerateTours(chatId, text, bot, player);
+            case REGENERATE_TOURS -> handleRegenerateTours(chatId, text, bot, player);
+            case ROUND_COMPATIBILITY -> handleRoundCompatibility(chatId, text, bot, player);
+            default -> bot.sendMessage(chatId, localizationService.msg(player, "admin.unknown.command"));
         }
     }
 
-    public void handleCallback(Update update, TelegramBot bot) {
+    public Optional<ResolvedCallback> resolveCallback(String callbackData) {
+        return callbackRouter.resolve(callbackData);
+    }
+
+    public void handleCallback(Update update, ResolvedCallback route, TelegramBot bot) {
         String callbackData = update.getCallbackQuery().getData();
         Long chatId = update.getCallbackQuery().getMessage().getChatId();
         Player player = playerService.findByTelegramId(chatId).orElse(null);
         logger.info("Admin callback received: {}", callbackData);
-        if ("ADMIN_MENU".equals(callbackData)) {
-            showAdminMenu(chatId, bot, player);
-        } else if ("ADMIN_HELP".equals(callbackData)) {
-            handleAdminCommand(chatId, bot, player);
-        } else if (callbackData.startsWith("ADMIN_CMD_")) {
-            handleAdminCommandCallback(chatId, callbackData, bot, player);
-        }
+        route.invoke(new CallbackContext(chatId, update.getCallbackQuery().getFrom().getId(),
+                update.getCallbackQuery().getFrom().getUserName(), player, bot, route.argument()));
+    }
+
+    @CallbackMapping("ADMIN_MENU")
+    private void onAdminMenu(CallbackContext ctx) {
+        showAdminMenu(ctx.chatId(), ctx.bot(), ctx.player());
+    }
+
+    @CallbackMapping("ADMIN_HELP")
+    private void onAdminHelp(CallbackContext ctx) {
+        handleAdminCommand(ctx.chatId(), ctx.bot(), ctx.player());
+    }
+
+    @CallbackMapping(value = "ADMIN_CMD_", arg = CallbackArg.NAME)
+    private void onAdminCommand(CallbackContext ctx) {
+        handleAdminCommandCallback(ctx.chatId(), ctx.name(), ctx.bot(), ctx.player());
     }
 
     private void handleStartCommand(Long chatId, TelegramBot bot, Player player) {
@@ -85,11 +107,7 @@ public class AdminCommandHandler {
         StringBuilder message = new StringBuilder();
         message.append(localizationService.msg(player, "admin.panel.header"));
         SendMessage sendMessage = SendMessage.builder().chatId(chatId.toString()).text(message.toString()).replyMarkup(createAdminMenuKeyboard(isAlsoPlayer, player)).build();
-        try {
-            bot.execute(sendMessage);
-        } catch (Exception e) {
-            logger.error("Failed to send admin menu", e);
-        }
+        bot.showScreen(sendMessage);
     }
 
     private InlineKeyboardMarkup createAdminMenuKeyboard(boolean isAlsoPlayer, Player player) {
@@ -118,36 +136,36 @@ public class AdminCommandHandler {
         return InlineKeyboardMarkup.builder().keyboard(keyboard).build();
     }
 
-    private void handleAdminCommandCallback(Long chatId, String callbackData, TelegramBot bot, Player player) {
-        switch (callbackData) {
-            case "ADMIN_CMD_LIST_TOURNAMENTS":
+    private void handleAdminCommandCallback(Long chatId, String adminCommand, TelegramBot bot, Player player) {
+        switch (adminCommand) {
+            case "LIST_TOURNAMENTS":
                 handleListTournaments(chatId, bot, player);
                 break;
-            case "ADMIN_CMD_LIST_PLAYERS":
+            case "LIST_PLAYERS":
                 handleListPlayers(chatId, bot, player);
                 break;
-            case "ADMIN_CMD_LIST_DIVISIONS":
+            case "LIST_DIVISIONS":
                 handleListDivisions(chatId, bot, player);
                 break;
-            case "ADMIN_CMD_CREATE_TOURNAMENT":
+            case "CREATE_TOURNAMENT":
                 bot.sendMessage(chatId, localizationService.msg(player, "admin.cmd.create_tournament.usage", BotCommand.CREATE_TOURNAMENT.getCommand()));
                 break;
-            case "ADMIN_CMD_ADD_PLAYER":
+            case "ADD_PLAYER":
                 bot.sendMessage(chatId, localizationService.msg(player, "admin.cmd.add_player.usage", BotCommand.ADD_PLAYER.getCommand()));
                 break;
-            case "ADMIN_CMD_ASSIGN_PLAYER":
+            case "ASSIGN_PLAYER":
                 bot.sendMessage(chatId, localizationService.msg(player, "admin.cmd.assign_player.usage", BotCommand.ASSIGN_PLAYER.getCommand()));
                 break;
-            case "ADMIN_CMD_GENERATE_TOURS":
+            case "GENERATE_TOURS":
                 bot.sendMessage(chatId, localizationService.msg(player, "admin.cmd.generate_tours.usage", BotCommand.GENERATE_TOURS.getCommand()));
                 break;
-            case "ADMIN_CMD_REGENERATE_TOURS":
+            case "REGENERATE_TOURS":
                 bot.sendMessage(chatId, localizationService.msg(player, "admin.cmd.regenerate_tours.usage", BotCommand.REGENERATE_TOURS.getCommand()));
                 break;
-            case "ADMIN_CMD_VIEW_SCHEDULE":
+            case "VIEW_SCHEDULE":
                 bot.sendMessage(chatId, localizationService.msg(player, "admin.cmd.view_schedule.usage", BotCommand.VIEW_SCHEDULE.getCommand()));
                 break;
-            case "ADMIN_CMD_VIEW_TOUR_SCHEDULE":
+            case "VIEW_TOUR_SCHEDULE":
                 bot.sendMessage(chatId, localizationService.msg(player, "admin.cmd.view_tour_schedule.usage", BotCommand.VIEW_TOUR_SCHEDULE.getCommand()));
                 break;
             default:
@@ -171,6 +189,7 @@ public class AdminCommandHandler {
         helpMessage.append(localizationService.msg(player, "admin.help.generate_tours", BotCommand.GENERATE_TOURS.getCommand())).append("\n");
         helpMessage.append(localizationService.msg(player, "admin.help.regenerate_tours", BotCommand.REGENERATE_TOURS.getCommand())).append("\n");
         helpMessage.append(localizationService.msg(player, "admin.help.view_tour_schedule", BotCommand.VIEW_TOUR_SCHEDULE.getCommand())).append("\n");
+        helpMessage.append(localizationService.msg(player, "admin.help.round_compatibility", BotCommand.ROUND_COMPATIBILITY.getCommand())).append("\n");
         if (isAlsoPlayer) {
             helpMessage.append(localizationService.msg(player, "admin.help.player.header"));
             helpMessage.append(localizationService.msg(player, "admin.help.player.schedule", BotCommand.SCHEDULE.getCommand())).append("\n");
@@ -236,10 +255,11 @@ public class AdminCommandHandler {
             StringBuilder message = new StringBuilder();
             message.append(localizationService.msg(player, "admin.schedule.div.header", divisionTournamentId)).append("\n");
             DateTimeFormatter fmt = DateTimeFormatter.ofPattern("dd.MM");
+            ScheduleService.DivisionScheduleMatrix matrix = scheduleService.buildDivisionScheduleMatrix(divisionTournamentId);
             for (PlayerDivisionAssignment assignment : assignments) {
                 Player ap = assignment.getPlayer();
                 message.append(localizationService.msg(player, "admin.schedule.player.line", ap.getName(), ap.getTelegramUsername())).append("\n");
-                ScheduleService.PlayerSchedule ps = scheduleService.buildPlayerScheduleForDivision(ap, divisionTournamentId);
+                ScheduleService.PlayerSchedule ps = matrix.scheduleFor(ap);
                 if (ps.tours().isEmpty()) {
                     message.append(localizationService.msg(player, "admin.schedule.no_tours")).append("\n");
                 } else {
@@ -280,7 +300,7 @@ public class AdminCommandHandler {
                 bot.sendMessage(chatId, localizationService.msg(player, "admin.assign.divTournament.notfound", divisionTournamentId));
                 return;
             }
-            List<ScheduleService.TourRoundInfo> rounds = scheduleService.buildTourGroupedSchedule(divisionTournamentId);
+            List<ScheduleService.TourRoundInfo> rounds = scheduleService.buildDivisionScheduleMatrix(divisionTournamentId).rounds();
             if (rounds.isEmpty()) {
                 bot.sendMessage(chatId, localizationService.msg(player, "admin.schedule.no_tours"));
                 return;
@@ -316,6 +336,46 @@ public class AdminCommandHandler {
         }
     }
 
+    private void handleRoundCompatibility(Long chatId, String text, TelegramBot bot, Player player) {
+        try {
+            String[] parts = text.trim().split("\\s+");
+            if (parts.length < 2) {
+                bot.sendMessage(chatId, localizationService.msg(player, "admin.round_compatibility.usage", BotCommand.ROUND_COMPATIBILITY.getCommand()));
+                return;
+            }
+            Long tourTemplateId = Long.parseLong(parts[1]);
+            AvailabilityService.RoundCompatibility round = availabilityService.getRoundCompatibility(tourTemplateId).orElse(null);
+            if (round == null) {
+                bot.sendMessage(chatId, localizationService.msg(player, "admin.round_compatibility.notfound", tourTemplateId));
+                return;
+            }
+            if (round.pairs().isEmpty()) {
+                bot.sendMessage(chatId, localizationService.msg(player, "admin.round_compatibility.none"));
+                return;
+            }
+            DateTimeFormatter fmt = DateTimeFormatter.ofPattern("dd.MM");
+            StringBuilder message = new StringBuilder();
+            message.append(localizationService.msg(player, "admin.round_compatibility.header",
+                    fmt.format(round.startDate()), fmt.format(round.endDate()))).append("\n");
+            for (AvailabilityService.PairCompatibility pair : round.pairs()) {
+                if (pair.playerAHasSubmitted() && pair.playerBHasSubmitted()) {
+                    message.append(localizationService.msg(player, "admin.round_compatibility.line",
+                            pair.playerAName(), pair.playerBName(), pair.greenHours(), pair.yellowHours())).append("\n");
+                } else {
+                    List<String> missing = new ArrayList<>(2);
+                    if (!pair.playerAHasSubmitted()) missing.add(pair.playerAName());
+                    if (!pair.playerBHasSubmitted()) missing.add(pair.playerBName());
+                    message.append(localizationService.msg(player, "admin.round_compatibility.missing",
+                            pair.playerAName(), pair.playerBName(), String.join(", ", missing))).append("\n");
+                }
+            }
+            bot.sendMessage(chatId, message.toString());
+        } catch (Exception e) {
+            logger.error("Error computing round compatibility", e);
+            bot.sendMessage(chatId, localizationService.msg(player, "admin.round_compatibility.failed", e.getMessage()));
+        }
+    }
+
     private void handleGenerateTours(Long chatId, String text, TelegramBot bot, Player player) {
         try {
             String[] parts = text.trim().split("\\s+");
@@ -1,11 +1,19 @@
 package com.raketo.league.telegram.handler;
 
 import com.raketo.league.model.*;
+import com.raketo.league.repository.TourContext;
 import com.raketo.league.service.*;
 import com.raketo.league.telegram.BotCommand;
+import com.raketo.league.telegram.RenderedScreenCache;
 import com.raketo.league.telegram.TelegramBot;
+import com.raketo.league.telegram.callback.CallbackArg;
+import com.raketo.league.telegram.callback.CallbackContext;
+import com.raketo.league.telegram.callback.CallbackMapping;
+import com.raketo.league.telegram.callback.CallbackRouter;
+import com.raketo.league.telegram.callback.ResolvedCallback;
 import com.raketo.league.util.FormatUtils;
 import com.raketo.league.util.PlayerContextHolder;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,38 +38,55 @@ public class PlayerCommandHandler {
     private final AvailabilityService availabilityService;
     private final ScheduleRequestService scheduleRequestService;
     private final LocalizationService localizationService;
+    private final ScheduleDataVersions scheduleDataVersions;
+    private final RenderedScreenCache renderedScreenCache;
     @Value("${app.base-url:http://localhost:8080}")
     private String baseUrl;
     @Value("${app.webapp.enabled:false}")
     private boolean webappEnabled;
+    private CallbackRouter callbackRouter;
+
+    @PostConstruct
+    void initCallbackRouter() {
+        callbackRouter = CallbackRouter.forHandler(this);
+    }
 
     public void handleCommand(Update update, TelegramBot bot) {
         String text = update.getMessage().getText();
         Long chatId = update.getMessage().getChatId();
         Long userId = update.getMessage().getFrom().getId();
         String username = update.getMessage().getFrom().getUserName();
+        Player player = playerService.findOrLinkPlayer(userId, username);
         try {
-            Player maybePlayer = playerService.findByTelegramId(userId).orElse(null);
-            if (maybePlayer != null) {
-                PlayerContextHolder.setCurrentPlayerId(maybePlayer.getId());
+            if (player != null) {
+                PlayerContextHolder.setCurrentPlayerId(player.getId());
             }
-            if (BotCommand.START.matches(text)) {
-                handleStartCommand(chatId, userId, bot);
-            } else if (BotCommand.SCHEDULE.matches(text)) {
-                handleSchedule(chatId, userId, username, bot);
-            } else if (BotCommand.HELP.matches(text)) {
-                handleHelp(chatId, userId, bot);
+            BotCommand command = BotCommand.fromText(text);
+            if (command == BotCommand.START) {
+                handleStartCommand(chatId, userId, player, bot);
+            } else if (command == BotCommand.SCHEDULE) {
+                handleSchedule(chatId, player, bot);
+            } else if (command == BotCommand.HELP) {
+                handleHelp(chatId, userId, player, bot);
             } else {
-                Player p = playerService.findByTelegramId(userId).orElse(null);
-                bot.sendMessage(chatId, localizationService.msg(p, "player.unknown.command", BotCommand.HELP.getCommand()));
+                bot.sendMessage(chatId, localizationService.msg(player, "player.unknown.command", BotCommand.HELP.getCommand()));
             }
         } finally {
             PlayerContextHolder.clear();
         }
     }
 
+    public Optional<ResolvedCallback> resolveCallback(String callbackData) {
+        return callbackRouter.resolve(callbackData);
+    }
+
     public void handleCallback(Update update, TelegramBot bot) {
         String callbackData = update.getCallbackQuery().getData();
+        ResolvedCallback route = callbackRouter.resolve(callbackData).orElse(null);
+        if (route == null) {
+            logger.warn("Ignoring unknown or malformed callback: {}", callbackData);
+            return;
+        }
         Long chatId = update.getCallbackQuery().getMessage().getChatId();
         Long userId = update.getCallbackQuery().getFrom().getId();
         String username = update.getCallbackQuery().getFrom().getUserName();
@@ -70,114 +95,163 @@ public class PlayerCommandHandler {
             if (player != null) {
                 PlayerContextHolder.setCurrentPlayerId(player.getId());
             }
-
-            if ("PLAYER_SCHEDULE_REFRESH".equals(callbackData) || "PLAYER_SCHEDULE".equals(callbackData)) {
-                handleSchedule(chatId, userId, username, bot);
-            } else if (callbackData.startsWith("SCHEDULE_DIVISION_")) {
-                Long divisionTournamentId = Long.parseLong(callbackData.substring("SCHEDULE_DIVISION_".length()));
-                handleScheduleForDivision(chatId, userId, username, divisionTournamentId, bot);
-            } else if ("PLAYER_HELP".equals(callbackData)) {
-                handleHelp(chatId, userId, bot);
-            } else if ("PLAYER_CONFIG".equals(callbackData)) {
-                sendLanguageConfig(chatId, player, bot);
-            } else if ("PLAYER_COURTS".equals(callbackData)) {
-                handleCourtsSetup(chatId, player, bot);
-            } else if (callbackData.startsWith("COURT_SELECT_")) {
-                if (player == null) {
-                    bot.sendMessage(chatId, localizationService.resolve(Language.RU, "player.not.registered"));
-                    return;
-                }
-                String court = callbackData.substring("COURT_SELECT_".length());
-                handleCourtSelection(chatId, player, court, bot);
-            } else if ("COURT_RESET".equals(callbackData)) {
-                if (player == null) {
-                    bot.sendMessage(chatId, localizationService.resolve(Language.RU, "player.not.registered"));
-                    return;
-                }
-                playerService.updatePreferredCourts(player, "");
-                Player reloaded = playerService.findById(player.getId()).orElse(player);
-                showCourtsSelectionScreen(chatId, reloaded, bot);
-            } else if ("COURT_FINISH".equals(callbackData)) {
-                handleCourtFinish(chatId, player, bot);
-            } else if ("PLAYER_MENU".equals(callbackData)) {
-                handleStartCommand(chatId, userId, bot);
-            } else if ("LANG_RU".equals(callbackData)) {
-                if (player != null) {
-                    playerService.updateLanguage(player, Language.RU);
-                }
-                bot.sendMessage(chatId, localizationService.msg(player, "config.language.updated", "Russian"));
-                handleStartCommand(chatId, userId, bot);
-            } else if ("LANG_EN".equals(callbackData)) {
-                if (player != null) {
-                    playerService.updateLanguage(player, Language.EN);
-                }
-                bot.sendMessage(chatId, localizationService.msg(player, "config.language.updated", "English"));
-                handleStartCommand(chatId, userId, bot);
-            } else if (callbackData.startsWith("MANAGE_TOUR_")) {
-                Long tourId = Long.parseLong(callbackData.substring("MANAGE_TOUR_".length()));
-                handleManageTour(chatId, userId, username, tourId, bot);
-            } else if (callbackData.startsWith("VIEW_REQUESTS_ACCEPTED_")) {
-                Long tourId = Long.parseLong(callbackData.substring("VIEW_REQUESTS_ACCEPTED_".length()));
-                handleViewRequests(chatId, userId, username, tourId, bot, true);
-            } else if (callbackData.startsWith("VIEW_REQUESTS_ALL_")) {
-                Long tourId = Long.parseLong(callbackData.substring("VIEW_REQUESTS_ALL_".length()));
-                handleViewRequests(chatId, userId, username, tourId, bot, false);
-            } else if (callbackData.startsWith("VIEW_REQUESTS_")) {
-                Long tourId = Long.parseLong(callbackData.substring("VIEW_REQUESTS_".length()));
-                handleViewRequests(chatId, userId, username, tourId, bot, false);
-            } else if (callbackData.startsWith("ACCEPT_REQUEST_")) {
-                Long requestId = Long.parseLong(callbackData.substring("ACCEPT_REQUEST_".length()));
-                handleAcceptRequest(chatId, userId, username, requestId, bot);
-            } else if (callbackData.startsWith("DECLINE_REQUEST_")) {
-                Long requestId = Long.parseLong(callbackData.substring("DECLINE_REQUEST_".length()));
-                handleDeclineRequest(chatId, userId, username, requestId, bot);
-            } else if (callbackData.startsWith("CANCEL_REQUEST_")) {
-                Long requestId = Long.parseLong(callbackData.substring("CANCEL_REQUEST_".length()));
-                handleCancelRequest(chatId, userId, username, requestId, bot);
-            } else if (callbackData.startsWith("CHANGE_TO_ACCEPT_")) {
-                Long requestId = Long.parseLong(callbackData.substring("CHANGE_TO_ACCEPT_".length()));
-                handleChangeRequestStatus(chatId, userId, username, requestId, ScheduleRequest.ScheduleStatus.Accepted, bot);
-            } else if (callbackData.startsWith("CHANGE_TO_DECLINE_")) {
-                Long requestId = Long.parseLong(callbackData.substring("CHANGE_TO_DECLINE_".length()));
-                handleChangeRequestStatus(chatId, userId, username, requestId, ScheduleRequest.ScheduleStatus.Declined, bot);
-            } else if (callbackData.startsWith("BOOK_REQUEST_")) {
-                Long requestId = Long.parseLong(callbackData.substring("BOOK_REQUEST_".length()));
-                handleBookRequest(chatId, userId, username, requestId, bot);
-            } else if (callbackData.startsWith("UNBOOK_REQUEST_")) {
-                Long requestId = Long.parseLong(callbackData.substring("UNBOOK_REQUEST_".length()));
-                handleUnbookRequest(chatId, userId, username, requestId, bot);
-            } else if (callbackData.startsWith("COMPLETE_TOUR_")) {
-                Long tourId = Long.parseLong(callbackData.substring("COMPLETE_TOUR_".length()));
-                handleCompleteTour(chatId, userId, username, tourId, bot);
-            } else if (callbackData.startsWith("POSTPONE_TOUR_")) {
-                Long tourId = Long.parseLong(callbackData.substring("POSTPONE_TOUR_".length()));
-                handlePostponeTour(chatId, userId, username, tourId, bot);
-            } else if (callbackData.startsWith("CONFIRM_COMPLETE_")) {
-                Long tourId = Long.parseLong(callbackData.substring("CONFIRM_COMPLETE_".length()));
-                confirmCompleteTour(chatId, userId, username, tourId, bot);
-            } else if (callbackData.startsWith("CONFIRM_POSTPONE_")) {
-                Long tourId = Long.parseLong(callbackData.substring("CONFIRM_POSTPONE_".length()));
-                confirmPostponeTour(chatId, userId, username, tourId, bot);
-            }
+            route.invoke(new CallbackContext(chatId, userId, username, player, bot, route.argument()));
         } finally {
             PlayerContextHolder.clear();
         }
     }
 
-    private void handleStartCommand(Long chatId, Long userId, TelegramBot bot) {
+    @CallbackMapping({"PLAYER_SCHEDULE", "PLAYER_SCHEDULE_REFRESH"})
+    private void onSchedule(CallbackContext ctx) {
+        handleSchedule(ctx.chatId(), ctx.player(), ctx.bot());
+    }
+
+    @CallbackMapping(value = "SCHEDULE_DIVISION_", arg = CallbackArg.ID)
+    private void onScheduleDivision(CallbackContext ctx) {
+        handleScheduleForDivision(ctx.chatId(), ctx.player(), ctx.id(), ctx.bot());
+    }
+
+    @CallbackMapping("PLAYER_HELP")
+    private void onHelp(CallbackContext ctx) {
+        handleHelp(ctx.chatId(), ctx.userId(), ctx.player(), ctx.bot());
+    }
+
+    @CallbackMapping("PLAYER_CONFIG")
+    private void onConfig(CallbackContext ctx) {
+        sendLanguageConfig(ctx.chatId(), ctx.player(), ctx.bot());
+    }
+
+    @CallbackMapping("PLAYER_COURTS")
+    private void onCourts(CallbackContext ctx) {
+        handleCourtsSetup(ctx.chatId(), ctx.player(), ctx.bot());
+    }
+
+    @CallbackMapping(value = "COURT_SELECT_", arg = CallbackArg.NAME)
+    private void onCourtSelect(CallbackContext ctx) {
+        if (ctx.player() == null) {
+            ctx.bot().sendMessage(ctx.chatId(), localizationService.resolve(Language.RU, "player.not.registered"));
+            return;
+        }
+        handleCourtSelection(ctx.chatId(), ctx.player(), ctx.name(), ctx.bot());
+    }
+
+    @CallbackMapping("COURT_RESET")
+    private void onCourtReset(CallbackContext ctx) {
+        if (ctx.player() == null) {
+            ctx.bot().sendMessage(ctx.chatId(), localizationService.resolve(Language.RU, "player.not.registered"));
+            return;
+        }
+        playerService.updatePreferredCourts(ctx.player(), "");
+        showCourtsSelectionScreen(ctx.chatId(), ctx.player(), ctx.bot());
+    }
+
+    @CallbackMapping("COURT_FINISH")
+    private void onCourtFinish(CallbackContext ctx) {
+        handleCourtFinish(ctx.chatId(), ctx.player(), ctx.bot());
+    }
+
+    @CallbackMapping("PLAYER_MENU")
+    private void onMenu(CallbackContext ctx) {
+        handleStartCommand(ctx.chatId(), ctx.userId(), ctx.player(), ctx.bot());
+    }
+
+    @CallbackMapping("LANG_RU")
+    private void onLanguageRu(CallbackContext ctx) {
+        if (ctx.player() != null) {
+            playerService.updateLanguage(ctx.player(), Language.RU);
+        }
+        ctx.bot().sendMessage(ctx.chatId(), localizationService.msg(ctx.player(), "config.language.updated", "Russian"));
+        handleStartCommand(ctx.chatId(), ctx.userId(), ctx.player(), ctx.bot());
+    }
+
+    @CallbackMapping("LANG_EN")
+    private void onLanguageEn(CallbackContext ctx) {
+        if (ctx.player() != null) {
+            playerService.updateLanguage(ctx.player(), Language.EN);
+        }
+        ctx.bot().sendMessage(ctx.chatId(), localizationService.msg(ctx.player(), "config.language.updated", "English"));
+        handleStartCommand(ctx.chatId(), ctx.userId(), ctx.player(), ctx.bot());
+    }
+
+    @CallbackMapping(value = "MANAGE_TOUR_", arg = CallbackArg.ID)
+    private void onManageTour(CallbackContext ctx) {
+        handleManageTour(ctx.chatId(), ctx.player(), ctx.id(), ctx.bot());
+    }
+
+    @CallbackMapping(value = "VIEW_REQUESTS_ACCEPTED_", arg = CallbackArg.ID)
+    private void onViewAcceptedRequests(CallbackContext ctx) {
+        handleViewRequests(ctx.chatId(), ctx.player(), ctx.id(), ctx.bot(), true);
+    }
+
+    @CallbackMapping(value = {"VIEW_REQUESTS_ALL_", "VIEW_REQUESTS_"}, arg = CallbackArg.ID)
+    private void onViewAllRequests(CallbackContext ctx) {
+        handleViewRequests(ctx.chatId(), ctx.player(), ctx.id(), ctx.bot(), false);
+    }
+
+    @CallbackMapping(value = "ACCEPT_REQUEST_", arg = CallbackArg.ID)
+    private void onAcceptRequest(CallbackContext ctx) {
+        handleAcceptRequest(ctx.chatId(), ctx.player(), ctx.id(), ctx.bot());
+    }
+
+    @CallbackMapping(value = "DECLINE_REQUEST_", arg = CallbackArg.ID)
+    private void onDeclineRequest(CallbackContext ctx) {
+        handleDeclineRequest(ctx.chatId(), ctx.player(), ctx.id(), ctx.bot());
+    }
+
+    @CallbackMapping(value = "CANCEL_REQUEST_", arg = CallbackArg.ID)
+    private void onCancelRequest(CallbackContext ctx) {
+        handleCancelRequest(ctx.chatId(), ctx.player(), ctx.id(), ctx.bot());
+    }
+
+    @CallbackMapping(value = "CHANGE_TO_ACCEPT_", arg = CallbackArg.ID)
+    private void onChangeToAccept(CallbackContext ctx) {
+        handleChangeRequestStatus(ctx.chatId(), ctx.player(), ctx.id(), ScheduleRequest.ScheduleStatus.Accepted, ctx.bot());
+    }
+
+    @CallbackMapping(value = "CHANGE_TO_DECLINE_", arg = CallbackArg.ID)
+    private void onChangeToDecline(CallbackContext ctx) {
+        handleChangeRequestStatus(ctx.chatId(), ctx.player(), ctx.id(), ScheduleRequest.ScheduleStatus.Declined, ctx.bot());
+    }
+
+    @CallbackMapping(value = "BOOK_REQUEST_", arg = CallbackArg.ID)
+    private void onBookRequest(CallbackContext ctx) {
+        handleBookRequest(ctx.chatId(), ctx.player(), ctx.id(), ctx.bot());
+    }
+
+    @CallbackMapping(value = "UNBOOK_REQUEST_", arg = CallbackArg.ID)
+    private void onUnbookRequest(CallbackContext ctx) {
+        handleUnbookRequest(ctx.chatId(), ctx.player(), ctx.id(), ctx.bot());
+    }
+
+    @CallbackMapping(value = "COMPLETE_TOUR_", arg = CallbackArg.ID)
+    private void onCompleteTour(CallbackContext ctx) {
+        handleCompleteTour(ctx.chatId(), ctx.player(), ctx.id(), ctx.bot());
+    }
+
+    @CallbackMapping(value = "POSTPONE_TOUR_", arg = CallbackArg.ID)
+    private void onPostponeTour(CallbackContext ctx) {
+        handlePostponeTour(ctx.chatId(), ctx.player(), ctx.id(), ctx.bot());
+    }
+
+    @CallbackMapping(value = "CONFIRM_COMPLETE_", arg = CallbackArg.ID)
+    private void onConfirmComplete(CallbackContext ctx) {
+        confirmCompleteTour(ctx.chatId(), ctx.player(), ctx.id(), ctx.bot());
+    }
+
+    @CallbackMapping(value = "CONFIRM_POSTPONE_", arg = CallbackArg.ID)
+    private void onConfirmPostpone(CallbackContext ctx) {
+        confirmPostponeTour(ctx.chatId(), ctx.player(), ctx.id(), ctx.bot());
+    }
+
+    private void handleStartCommand(Long chatId, Long userId, Player player, TelegramBot bot) {
         boolean isAdmin = adminService.isAdmin(userId);
-        Player player = playerService.findByTelegramId(userId).orElse(null);
         String message = localizationService.msg(player, "player.menu.welcome");
         SendMessage sendMessage = SendMessage.builder()
                 .chatId(chatId.toString())
                 .text(message)
                 .replyMarkup(createPlayerMenuKeyboard(isAdmin, player))
                 .build();
-        try {
-            bot.execute(sendMessage);
-        } catch (Exception e) {
-            logger.error("Failed to send start menu", e);
-        }
+        bot.showScreen(sendMessage);
     }
 
     private InlineKeyboardMarkup createPlayerMenuKeyboard(boolean isAdmin, Player player) {
@@ -214,8 +288,7 @@ public class PlayerCommandHandler {
         return InlineKeyboardMarkup.builder().keyboard(keyboard).build();
     }
 
-    private void handleSchedule(Long chatId, Long userId, String username, TelegramBot bot) {
-        Player player = playerService.findOrLinkPlayer(userId, username);
+    private void handleSchedule(Long chatId, Player player, TelegramBot bot) {
         if (player == null) {
             bot.sendMessage(chatId, localizationService.resolve(Language.RU, "player.not.registered"));
             return;
@@ -225,16 +298,11 @@ public class PlayerCommandHandler {
 
         if (divisions.size() > 1) {
             showDivisionSelection(chatId, player, divisions, bot);
-        } else {
-            Long divisionTournamentId = divisions.isEmpty() ? null : divisions.getFirst().getDivisionTournament().getId();
+        } else if (divisions.isEmpty()) {
             ScheduleService.PlayerSchedule ps = scheduleService.buildPlayerSchedule(player);
-            String messageText = renderScheduleMessageLocalized(ps, player);
-            SendMessage message = SendMessage.builder().chatId(chatId.toString()).text(messageText).replyMarkup(scheduleKeyboardWithTours(ps, player, divisionTournamentId)).build();
-            try {
-                bot.execute(message);
-            } catch (Exception e) {
-                logger.error("Failed to send schedule", e);
-            }
+            bot.showScreen(new RenderedScreenCache.Screen(renderScheduleMessageLocalized(ps, player), scheduleKeyboardWithTours(ps, player, null)).toMessage(chatId));
+        } else {
+            bot.showScreen(divisionScheduleScreen(player, divisions.getFirst().getDivisionTournament().getId()).toMessage(chatId));
         }
     }
 
@@ -260,28 +328,23 @@ public class PlayerCommandHandler {
                 .replyMarkup(InlineKeyboardMarkup.builder().keyboard(keyboard).build())
                 .build();
 
-        try {
-            bot.execute(message);
-        } catch (Exception e) {
-            logger.error("Failed to send division selection", e);
-        }
+        bot.showScreen(message);
     }
 
-    private void handleScheduleForDivision(Long chatId, Long userId, String username, Long divisionTournamentId, TelegramBot bot) {
-        Player player = playerService.findOrLinkPlayer(userId, username);
+    private void handleScheduleForDivision(Long chatId, Player player, Long divisionTournamentId, TelegramBot bot) {
         if (player == null) {
             bot.sendMessage(chatId, localizationService.resolve(Language.RU, "player.not.registered"));
             return;
         }
 
-        ScheduleService.PlayerSchedule ps = scheduleService.buildPlayerScheduleForDivision(player, divisionTournamentId);
-        String messageText = renderScheduleMessageLocalized(ps, player);
-        SendMessage message = SendMessage.builder().chatId(chatId.toString()).text(messageText).replyMarkup(scheduleKeyboardWithTours(ps, player, divisionTournamentId)).build();
-        try {
-            bot.execute(message);
-        } catch (Exception e) {
-            logger.error("Failed to send schedule for division", e);
-        }
+        bot.showScreen(divisionScheduleScreen(player, divisionTournamentId).toMessage(chatId));
+    }
+
+    private RenderedScreenCache.Screen divisionScheduleScreen(Player player, Long divisionTournamentId) {
+        return renderedScreenCache.get(player, "schedule:" + divisionTournamentId, scheduleDataVersions.division(divisionTournamentId), () -> {
+            ScheduleService.PlayerSchedule ps = scheduleService.buildPlayerScheduleForDivision(player, divisionTournamentId);
+            return new RenderedScreenCache.Screen(renderScheduleMessageLocalized(ps, player), scheduleKeyboardWithTours(ps, player, divisionTournamentId));
+        });
     }
 
     private String renderScheduleMessageLocalized(ScheduleService.PlayerSchedule ps, Player player) {
@@ -392,9 +455,8 @@ public class PlayerCommandHandler {
         return InlineKeyboardMarkup.builder().keyboard(keyboard).build();
     }
 
-    private void handleHelp(Long chatId, Long userId, TelegramBot bot) {
+    private void handleHelp(Long chatId, Long userId, Player player, TelegramBot bot) {
         boolean isAdmin = adminService.isAdmin(userId);
-        Player player = playerService.findByTelegramId(userId).orElse(null);
         StringBuilder helpMessage = new StringBuilder();
         helpMessage.append(localizationService.msg(player, "player.help.header"));
         helpMessage.append(localizationService.msg(player, "player.help.schedule", BotCommand.SCHEDULE.getCommand()));
@@ -407,12 +469,18 @@ public class PlayerCommandHandler {
         bot.sendMessage(chatId, helpMessage.toString());
     }
 
-    private void handleViewRequests(Long chatId, Long userId, String username, Long tourId, TelegramBot bot, boolean acceptedOnly) {
-        Player player = playerService.findOrLinkPlayer(userId, username);
+    private void handleViewRequests(Long chatId, Player player, Long tourId, TelegramBot bot, boolean acceptedOnly) {
         if (player == null) {
             bot.sendMessage(chatId, localizationService.resolve(Language.RU, "player.not.registered"));
             return;
         }
+        String screen = acceptedOnly ? "requests:" + tourId + ":accepted" : "requests:" + tourId;
+        RenderedScreenCache.Screen requestsScreen = renderedScreenCache.get(player, screen, scheduleDataVersions.tour(tourId),
+                () -> renderRequestsScreen(player, tourId, acceptedOnly));
+        bot.showScreen(requestsScreen.toMessage(chatId));
+    }
+
+    private RenderedScreenCache.Screen renderRequestsScreen(Player player, Long tourId, boolean acceptedOnly) {
         List<ScheduleRequest> requests = scheduleRequestService.getTourRequests(tourId, player.getId());
 
         if (acceptedOnly) {
@@ -494,20 +562,10 @@ public class PlayerCommandHandler {
                 .callbackData("PLAYER_SCHEDULE")
                 .build();
         keyboard.add(List.of(backBtn));
-        SendMessage message = SendMessage.builder()
-                .chatId(chatId.toString())
-                .text(messageText)
-                .replyMarkup(InlineKeyboardMarkup.builder().keyboard(keyboard).build())
-                .build();
-        try {
-            bot.execute(message);
-        } catch (Exception e) {
-            logger.error("Failed to send requests", e);
-        }
+        return new RenderedScreenCache.Screen(messageText, InlineKeyboardMarkup.builder().keyboard(keyboard).build());
     }
 
-    private void handleAcceptRequest(Long chatId, Long userId, String username, Long requestId, TelegramBot bot) {
-        Player player = playerService.findOrLinkPlayer(userId, username);
+    private void handleAcceptRequest(Long chatId, Player player, Long requestId, TelegramBot bot) {
         if (player == null) {
             bot.sendMessage(chatId, localizationService.resolve(Language.RU, "player.not.registered"));
             return;
@@ -520,8 +578,7 @@ public class PlayerCommandHandler {
         }
     }
 
-    private void handleDeclineRequest(Long chatId, Long userId, String username, Long requestId, TelegramBot bot) {
-        Player player = playerService.findOrLinkPlayer(userId, username);
+    private void handleDeclineRequest(Long chatId, Player player, Long requestId, TelegramBot bot) {
         if (player == null) {
             bot.sendMessage(chatId, localizationService.resolve(Language.RU, "player.not.registered"));
             return;
@@ -534,8 +591,7 @@ public class PlayerCommandHandler {
         }
     }
 
-    private void handleCancelRequest(Long chatId, Long userId, String username, Long requestId, TelegramBot bot) {
-        Player player = playerService.findOrLinkPlayer(userId, username);
+    private void handleCancelRequest(Long chatId, Player player, Long requestId, TelegramBot bot) {
         if (player == null) {
             bot.sendMessage(chatId, localizationService.resolve(Language.RU, "player.not.registered"));
             return;
@@ -548,9 +604,8 @@ public class PlayerCommandHandler {
         }
     }
 
-    private void handleChangeRequestStatus(Long chatId, Long userId, String username, Long requestId,
+    private void handleChangeRequestStatus(Long chatId, Player player, Long requestId,
                                           ScheduleRequest.ScheduleStatus newStatus, TelegramBot bot) {
-        Player player = playerService.findOrLinkPlayer(userId, username);
         if (player == null) {
             bot.sendMessage(chatId, localizationService.resolve(Language.RU, "player.not.registered"));
             return;
@@ -563,8 +618,7 @@ public class PlayerCommandHandler {
         }
     }
 
-    private void handleBookRequest(Long chatId, Long userId, String username, Long requestId, TelegramBot bot) {
-        Player player = playerService.findOrLinkPlayer(userId, username);
+    private void handleBookRequest(Long chatId, Player player, Long requestId, TelegramBot bot) {
         if (player == null) {
             bot.sendMessage(chatId, localizationService.resolve(Language.RU, "player.not.registered"));
             return;
@@ -577,8 +631,7 @@ public class PlayerCommandHandler {
         }
     }
 
-    private void handleUnbookRequest(Long chatId, Long userId, String username, Long requestId, TelegramBot bot) {
-        Player player = playerService.findOrLinkPlayer(userId, username);
+    private void handleUnbookRequest(Long chatId, Player player, Long requestId, TelegramBot bot) {
         if (player == null) {
             bot.sendMessage(chatId, localizationService.resolve(Language.RU, "player.not.registered"));
             return;
@@ -591,57 +644,42 @@ public class PlayerCommandHandler {
         }
     }
 
-    private void handleManageTour(Long chatId, Long userId, String username, Long tourId, TelegramBot bot) {
-        Player player = playerService.findOrLinkPlayer(userId, username);
+    private void handleManageTour(Long chatId, Player player, Long tourId, TelegramBot bot) {
         if (player == null) {
             bot.sendMessage(chatId, localizationService.resolve(Language.RU, "player.not.registered"));
             return;
         }
 
-        // First get the tour to find its division
-        ScheduleService.PlayerSchedule fullSchedule = scheduleService.buildPlayerSchedule(player);
-        ScheduleService.TourInfo tourInfo = fullSchedule.tours().stream()
-                .filter(ti -> ti.tourId() != null && ti.tourId().equals(tourId))
-                .findFirst()
-                .orElse(null);
-
-        if (tourInfo == null) {
+        TourContext tourContext = scheduleService.findTourContext(player, tourId).orElse(null);
+        if (tourContext == null) {
             bot.sendMessage(chatId, localizationService.msg(player, "tour.not.found"));
             return;
         }
 
-        // Get division-specific schedule to calculate correct tour number
-        Long divisionTournamentId = tourInfo.divisionTournamentId();
-        ScheduleService.PlayerSchedule divisionSchedule = scheduleService.buildPlayerScheduleForDivision(player, divisionTournamentId);
-        int tourNumber = divisionSchedule.tours().indexOf(
-            divisionSchedule.tours().stream()
-                .filter(ti -> ti.tourId() != null && ti.tourId().equals(tourId))
-                .findFirst()
-                .orElse(null)
-        ) + 1;
+        Long divisionTournamentId = tourContext.divisionTournamentId();
         StringBuilder message = new StringBuilder();
-        message.append(localizationService.msg(player, "tour.manage.header", tourNumber)).append("\n\n");
+        message.append(localizationService.msg(player, "tour.manage.header", tourContext.roundNumber())).append("\n\n");
 
-        String start = ScheduleService.DATE_FMT.format(tourInfo.startDate());
-        String end = ScheduleService.DATE_FMT.format(tourInfo.endDate());
+        String start = ScheduleService.DATE_FMT.format(tourContext.startDate());
+        String end = ScheduleService.DATE_FMT.format(tourContext.endDate());
         message.append(localizationService.msg(player, "tour.manage.dates", start, end)).append("\n");
 
-        if (tourInfo.opponent() != null) {
-            String opponentInfo = tourInfo.opponent().getName();
-            if (tourInfo.opponent().getTelegramUsername() != null && !tourInfo.opponent().getTelegramUsername().isEmpty()) {
-                opponentInfo += " (@" + tourInfo.opponent().getTelegramUsername() + ")";
+        if (tourContext.hasOpponent()) {
+            String opponentInfo = tourContext.opponentName();
+            if (tourContext.opponentUsername() != null && !tourContext.opponentUsername().isEmpty()) {
+                opponentInfo += " (@" + tourContext.opponentUsername() + ")";
             }
             message.append(localizationService.msg(player, "tour.manage.tour_opponent", opponentInfo)).append("\n");
 
-            if (tourInfo.responsiblePlayer() != null) {
-                if (tourInfo.responsiblePlayer().getId().equals(player.getId())) {
+            if (tourContext.responsiblePlayerId() != null) {
+                if (tourContext.responsiblePlayerId().equals(player.getId())) {
                     message.append(localizationService.msg(player, "tour.manage.responsible.you")).append("\n");
                 } else {
-                    message.append(localizationService.msg(player, "tour.manage.responsible.opponent", tourInfo.responsiblePlayer().getName())).append("\n");
+                    message.append(localizationService.msg(player, "tour.manage.responsible.opponent", tourContext.responsiblePlayerName())).append("\n");
                 }
             }
 
-            String opponentCourts = tourInfo.opponent().getPreferredCourts();
+            String opponentCourts = tourContext.opponentCourts();
             if (opponentCourts != null && !opponentCourts.isEmpty()) {
                 String[] courts = opponentCourts.split(",");
                 StringBuilder courtsList = new StringBuilder();
@@ -655,42 +693,31 @@ public class PlayerCommandHandler {
             }
         }
 
-        List<AvailabilitySlot> playerSlots = availabilityService.getPlayerTourAvailability(player.getId(), tourId).map(List::of).orElse(List.of());
-        List<AvailabilitySlot> opponentSlots = tourInfo.opponent() != null ?
-                availabilityService.getPlayerTourAvailability(tourInfo.opponent().getId(), tourId).map(List::of).orElse(List.of()) :
-                List.of();
-
-        String playerStatus = playerSlots.isEmpty() ?
-                localizationService.msg(player, "schedule.status.not.set") :
-                localizationService.msg(player, "schedule.status.set");
+        String playerStatus = tourContext.playerAvailabilitySet() ?
+                localizationService.msg(player, "schedule.status.set") :
+                localizationService.msg(player, "schedule.status.not.set");
         message.append(localizationService.msg(player, "tour.manage.availability.you", playerStatus)).append("\n");
 
-        if (tourInfo.opponent() != null) {
-            String opponentStatus = opponentSlots.isEmpty() ?
-                    localizationService.msg(player, "schedule.status.not.set") :
-                    localizationService.msg(player, "schedule.status.set");
+        if (tourContext.hasOpponent()) {
+            String opponentStatus = tourContext.opponentAvailabilitySet() ?
+                    localizationService.msg(player, "schedule.status.set") :
+                    localizationService.msg(player, "schedule.status.not.set");
             message.append(localizationService.msg(player, "tour.manage.availability.opponent", opponentStatus)).append("\n");
         }
 
-        List<ScheduleRequest> tourRequests = scheduleRequestService.getTourRequests(tourId, player.getId());
-        long incomingPending = tourRequests.stream()
-                .filter(r -> r.getRecipientPlayer().getId().equals(player.getId()) && r.getStatus() == ScheduleRequest.ScheduleStatus.Pending)
-                .count();
-        long outgoingPending = tourRequests.stream()
-                .filter(r -> r.getInitiatorPlayer().getId().equals(player.getId()) && r.getStatus() == ScheduleRequest.ScheduleStatus.Pending)
-                .count();
-
+        long incomingPending = tourContext.incomingPending();
+        long outgoingPending = tourContext.outgoingPending();
         if (incomingPending > 0 || outgoingPending > 0) {
             message.append("\n").append(localizationService.msg(player, "tour.manage.requests.summary", incomingPending, outgoingPending)).append("\n");
         }
 
-        if (tourInfo.status() == Tour.TourStatus.Scheduled && tourInfo.scheduledTime() != null) {
+        if (tourContext.status() == Tour.TourStatus.Scheduled && tourContext.scheduledTime() != null) {
             DateTimeFormatter timeFmt = DateTimeFormatter.ofPattern("dd.MM HH:mm").withZone(java.time.ZoneId.of("Asia/Tbilisi"));
-            message.append("\n").append(localizationService.msg(player, "tour.manage.scheduled", timeFmt.format(tourInfo.scheduledTime()))).append("\n");
+            message.append("\n").append(localizationService.msg(player, "tour.manage.scheduled", timeFmt.format(tourContext.scheduledTime()))).append("\n");
         }
 
-        if (tourInfo.status() != null) {
-            String statusKey = "tour.statuses." + tourInfo.status().name();
+        if (tourContext.status() != null) {
+            String statusKey = "tour.statuses." + tourContext.status().name();
             String localizedStatus = localizationService.msg(player, statusKey);
             message.append("\n").append(localizationService.msg(player, "tour.manage.status", localizedStatus));
         } else {
@@ -699,18 +726,18 @@ public class PlayerCommandHandler {
 
         List<List<InlineKeyboardButton>> keyboard = new ArrayList<>();
 
-        String availabilityButtonKey = playerSlots.isEmpty() ?
-                "tour.manage.button.availability" : "tour.manage.button.change_availability";
+        String availabilityButtonKey = tourContext.playerAvailabilitySet() ?
+                "tour.manage.button.change_availability" : "tour.manage.button.availability";
         InlineKeyboardButton setAvailabilityBtn = InlineKeyboardButton.builder()
                 .text(localizationService.msg(player, availabilityButtonKey))
                 .webApp(new WebAppInfo(baseUrl + "/webapp/calendar?playerId=" + player.getTelegramId() + "&tourId=" + tourId))
                 .build();
         keyboard.add(List.of(setAvailabilityBtn));
 
-        if (!playerSlots.isEmpty() && !opponentSlots.isEmpty()) {
+        if (tourContext.playerAvailabilitySet() && tourContext.opponentAvailabilitySet()) {
             InlineKeyboardButton compatibleBtn = InlineKeyboardButton.builder()
                     .text(localizationService.msg(player, "tour.manage.button.compatible"))
-                    .webApp(new WebAppInfo(baseUrl + "/webapp/compatible?playerId=" + player.getId() + "&opponentId=" + tourInfo.opponent().getId() + "&tourId=" + tourId))
+                    .webApp(new WebAppInfo(baseUrl + "/webapp/compatible?playerId=" + player.getId() + "&opponentId=" + tourContext.opponentId() + "&tourId=" + tourId))
                     .build();
             keyboard.add(List.of(compatibleBtn));
         }
@@ -725,7 +752,7 @@ public class PlayerCommandHandler {
                 .build();
         keyboard.add(List.of(acceptedRequestsBtn, allRequestsBtn));
 
-        if (tourInfo.status() == Tour.TourStatus.Active || tourInfo.status() == Tour.TourStatus.Scheduled || tourInfo.status() == Tour.TourStatus.Postponed) {
+        if (tourContext.status() == Tour.TourStatus.Active || tourContext.status() == Tour.TourStatus.Scheduled || tourContext.status() == Tour.TourStatus.Postponed) {
             InlineKeyboardButton completeBtn = InlineKeyboardButton.builder()
                     .text(localizationService.msg(player, "tour.manage.button.complete"))
                     .callbackData("COMPLETE_TOUR_" + tourId)
@@ -733,7 +760,7 @@ public class PlayerCommandHandler {
             keyboard.add(List.of(completeBtn));
         }
 
-        if (tourInfo.status() == Tour.TourStatus.Active || tourInfo.status() == Tour.TourStatus.Scheduled) {
+        if (tourContext.status() == Tour.TourStatus.Active || tourContext.status() == Tour.TourStatus.Scheduled) {
             InlineKeyboardButton postponeBtn = InlineKeyboardButton.builder()
                     .text(localizationService.msg(player, "tour.manage.button.postpone"))
                     .callbackData("POSTPONE_TOUR_" + tourId)
@@ -755,15 +782,10 @@ public class PlayerCommandHandler {
                 .replyMarkup(InlineKeyboardMarkup.builder().keyboard(keyboard).build())
                 .build();
 
-        try {
-            bot.execute(msg);
-        } catch (Exception e) {
-            logger.error("Failed to send manage tour screen", e);
-        }
+        bot.showScreen(msg);
     }
 
-    private void handleCompleteTour(Long chatId, Long userId, String username, Long tourId, TelegramBot bot) {
-        Player player = playerService.findOrLinkPlayer(userId, username);
+    private void handleCompleteTour(Long chatId, Player player, Long tourId, TelegramBot bot) {
         if (player == null) {
             bot.sendMessage(chatId, localizationService.resolve(Language.RU, "player.not.registered"));
             return;
@@ -786,15 +808,10 @@ public class PlayerCommandHandler {
                 .replyMarkup(InlineKeyboardMarkup.builder().keyboard(keyboard).build())
                 .build();
 
-        try {
-            bot.execute(msg);
-        } catch (Exception e) {
-            logger.error("Failed to show complete confirmation", e);
-        }
+        bot.showScreen(msg);
     }
 
-    private void handlePostponeTour(Long chatId, Long userId, String username, Long tourId, TelegramBot bot) {
-        Player player = playerService.findOrLinkPlayer(userId, username);
+    private void handlePostponeTour(Long chatId, Player player, Long tourId, TelegramBot bot) {
         if (player == null) {
             bot.sendMessage(chatId, localizationService.resolve(Language.RU, "player.not.registered"));
             return;
@@ -817,15 +834,10 @@ public class PlayerCommandHandler {
                 .replyMarkup(InlineKeyboardMarkup.builder().keyboard(keyboard).build())
                 .build();
 
-        try {
-            bot.execute(msg);
-        } catch (Exception e) {
-            logger.error("Failed to show postpone confirmation", e);
-        }
+        bot.showScreen(msg);
     }
 
-    private void confirmCompleteTour(Long chatId, Long userId, String username, Long tourId, TelegramBot bot) {
-        Player player = playerService.findOrLinkPlayer(userId, username);
+    private void confirmCompleteTour(Long chatId, Player player, Long tourId, TelegramBot bot) {
         if (player == null) {
             bot.sendMessage(chatId, localizationService.resolve(Language.RU, "player.not.registered"));
             return;
@@ -834,14 +846,13 @@ public class PlayerCommandHandler {
         try {
             scheduleRequestService.completeTour(tourId);
             bot.sendMessage(chatId, localizationService.msg(player, "tour.complete.success"));
-            handleSchedule(chatId, userId, username, bot);
+            handleSchedule(chatId, player, bot);
         } catch (Exception e) {
             bot.sendMessage(chatId, localizationService.msg(player, "tour.complete.failed", e.getMessage()));
         }
     }
 
-    private void confirmPostponeTour(Long chatId, Long userId, String username, Long tourId, TelegramBot bot) {
-        Player player = playerService.findOrLinkPlayer(userId, username);
+    private void confirmPostponeTour(Long chatId, Player player, Long tourId, TelegramBot bot) {
         if (player == null) {
             bot.sendMessage(chatId, localizationService.resolve(Language.RU, "player.not.registered"));
             return;
@@ -850,7 +861,7 @@ public class PlayerCommandHandler {
         try {
             scheduleRequestService.postponeTour(tourId);
             bot.sendMessage(chatId, localizationService.msg(player, "tour.postpone.success"));
-            handleSchedule(chatId, userId, username, bot);
+            handleSchedule(chatId, player, bot);
         } catch (Exception e) {
             bot.sendMessage(chatId, localizationService.msg(player, "tour.postpone.failed", e.getMessage()));
         }
@@ -872,11 +883,7 @@ public class PlayerCommandHandler {
                 .text(localizationService.msg(player, "config.language.header"))
                 .replyMarkup(InlineKeyboardMarkup.builder().keyboard(keyboard).build())
                 .build();
-        try {
-            bot.execute(msg);
-        } catch (Exception e) {
-            logger.error("Failed to send language config", e);
-        }
+        bot.showScreen(msg);
     }
 
     private void handleCourtsSetup(Long chatId, Player player, TelegramBot bot) {
@@ -898,14 +905,12 @@ public class PlayerCommandHandler {
         String newCourts = currentCourts.isEmpty() ? court : currentCourts + "," + court;
 
         playerService.updatePreferredCourts(player, newCourts);
-
-        Player reloaded = playerService.findById(player.getId()).orElse(player);
-        showCourtsSelectionScreen(chatId, reloaded, bot);
+        showCourtsSelectionScreen(chatId, player, bot);
     }
 
     private void handleCourtFinish(Long chatId, Player player, TelegramBot bot) {
         bot.sendMessage(chatId, localizationService.msg(player, "player.courts.setup.saved"));
-        handleStartCommand(chatId, player.getTelegramId(), bot);
+        handleStartCommand(chatId, player.getTelegramId(), player, bot);
     }
 
     private void showCourtsSelectionScreen(Long chatId, Player player, TelegramBot bot) {
@@ -962,11 +967,7 @@ public class PlayerCommandHandler {
                 .replyMarkup(InlineKeyboardMarkup.builder().keyboard(keyboard).build())
                 .build();
 
-        try {
-            bot.execute(msg);
-        } catch (Exception e) {
-            logger.error("Failed to send courts selection screen", e);
-        }
+        bot.showScreen(msg);
     }
 
     private String getCourtDisplayName(String courtCode, Player player) {
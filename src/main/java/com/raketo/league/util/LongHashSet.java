@@ -0,0 +1,95 @@
+package com.raketo.league.util;
+
+import java.util.Collection;
+
+/**
+ * Immutable open-addressing set of primitive longs. Safe to share between threads;
+ * updates produce a new instance that callers publish through a volatile field.
+ */
+public final class LongHashSet {
+    private static final long FREE = 0L;
+
+    private final long[] slots;
+    private final int mask;
+    private final int size;
+    private final boolean containsFree;
+
+    private LongHashSet(long[] slots, int size, boolean containsFree) {
+        this.slots = slots;
+        this.mask = slots.length - 1;
+        this.size = size;
+        this.containsFree = containsFree;
+    }
+
+    public static LongHashSet of(Collection<Long> values) {
+        long[] slots = new long[tableSize(values.size())];
+        int size = 0;
+        boolean containsFree = false;
+        for (Long value : values) {
+            if (value == null) continue;
+            if (value == FREE) {
+                if (!containsFree) size++;
+                containsFree = true;
+            } else if (insert(slots, value)) {
+                size++;
+            }
+        }
+        return new LongHashSet(slots, size, containsFree);
+    }
+
+    public LongHashSet with(long value) {
+        if (contains(value)) {
+            return this;
+        }
+        if (value == FREE) {
+            return new LongHashSet(slots, size + 1, true);
+        }
+        long[] copy = new long[tableSize(size + 1)];
+        for (long existing : slots) {
+            if (existing != FREE) insert(copy, existing);
+        }
+        insert(copy, value);
+        return new LongHashSet(copy, size + 1, containsFree);
+    }
+
+    public boolean contains(long value) {
+        if (value == FREE) {
+            return containsFree;
+        }
+        int i = mix(value) & mask;
+        while (true) {
+            long slot = slots[i];
+            if (slot == value) return true;
+            if (slot == FREE) return false;
+            i = (i + 1) & mask;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static boolean insert(long[] slots, long value) {
+        int mask = slots.length - 1;
+        int i = mix(value) & mask;
+        while (slots[i] != FREE) {
+            if (slots[i] == value) return false;
+            i = (i + 1) & mask;
+        }
+        slots[i] = value;
+        return true;
+    }
+
+    private static int tableSize(int expected) {
+        int capacity = 4;
+        while (capacity < expected * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,132 @@
+-- Schema as previously generated by Hibernate (ddl-auto: update). Databases created that way are
+-- baselined at this version and start from V2.
+
+create table divisions (
+    id bigint not null auto_increment,
+    chat_id bigint,
+    is_active bit not null,
+    level integer,
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table tournaments (
+    id bigint not null auto_increment,
+    description varchar(255),
+    is_active bit not null,
+    name varchar(255) not null,
+    start_date datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table divisions_tournaments (
+    id bigint not null auto_increment,
+    division_id bigint not null,
+    tournament_id bigint not null,
+    primary key (id),
+    constraint fk_divisions_tournaments_division foreign key (division_id) references divisions (id),
+    constraint fk_divisions_tournaments_tournament foreign key (tournament_id) references tournaments (id)
+) engine=InnoDB;
+
+create table players (
+    id bigint not null auto_increment,
+    is_active bit not null,
+    language enum ('RU','EN') not null,
+    name varchar(255) not null,
+    preferred_courts TEXT,
+    telegram_id bigint,
+    telegram_username varchar(255) not null,
+    primary key (id),
+    constraint uk_players_telegram_id unique (telegram_id),
+    constraint uk_players_telegram_username unique (telegram_username)
+) engine=InnoDB;
+
+create table admin_users (
+    id bigint not null auto_increment,
+    is_active bit not null,
+    name varchar(255) not null,
+    telegram_id bigint not null,
+    telegram_username varchar(255) not null,
+    primary key (id),
+    constraint uk_admin_users_telegram_id unique (telegram_id),
+    constraint uk_admin_users_telegram_username unique (telegram_username)
+) engine=InnoDB;
+
+create table players_divisions (
+    id bigint not null auto_increment,
+    divisions_tournaments_id bigint not null,
+    player_id bigint not null,
+    primary key (id),
+    constraint fk_players_divisions_division_tournament foreign key (divisions_tournaments_id) references divisions_tournaments (id),
+    constraint fk_players_divisions_player foreign key (player_id) references players (id)
+) engine=InnoDB;
+
+create table tour_templates (
+    id bigint not null auto_increment,
+    divisions_tournaments_id bigint not null,
+    end_date datetime(6) not null,
+    start_date datetime(6) not null,
+    primary key (id),
+    constraint fk_tour_templates_division_tournament foreign key (divisions_tournaments_id) references divisions_tournaments (id)
+) engine=InnoDB;
+
+create table tours (
+    id bigint not null auto_increment,
+    complete_date datetime(6),
+    responsible_player_id bigint,
+    scheduled_time datetime(6),
+    status enum ('Active','Scheduled','Walkover','Postponed','Completed','Cancelled') not null,
+    tour_template_id bigint not null,
+    updated_at datetime(6),
+    primary key (id),
+    constraint fk_tours_responsible_player foreign key (responsible_player_id) references players (id),
+    constraint fk_tours_tour_template foreign key (tour_template_id) references tour_templates (id)
+) engine=InnoDB;
+
+create table tours_players (
+    id bigint not null auto_increment,
+    player_id bigint not null,
+    tour_id bigint not null,
+    primary key (id),
+    constraint fk_tours_players_player foreign key (player_id) references players (id),
+    constraint fk_tours_players_tour foreign key (tour_id) references tours (id)
+) engine=InnoDB;
+
+create table availability_slots (
+    id bigint not null auto_increment,
+    available_slots TEXT,
+    created_at datetime(6) not null,
+    player_id bigint not null,
+    tour_id bigint not null,
+    unavailable_slots TEXT,
+    updated_at datetime(6),
+    primary key (id),
+    constraint fk_availability_slots_player foreign key (player_id) references players (id),
+    constraint fk_availability_slots_tour foreign key (tour_id) references tours (id)
+) engine=InnoDB;
+
+create table schedule_requests (
+    id bigint not null auto_increment,
+    created_at datetime(6) not null,
+    initiator_player_id bigint not null,
+    proposed_date date not null,
+    proposed_hours TEXT,
+    recepient_player_id bigint not null,
+    status enum ('Pending','Accepted','Declined','Expired','Cancelled','Booked') not null,
+    tour_id bigint not null,
+    updated_at datetime(6),
+    primary key (id),
+    constraint fk_schedule_requests_initiator foreign key (initiator_player_id) references players (id),
+    constraint fk_schedule_requests_recipient foreign key (recepient_player_id) references players (id),
+    constraint fk_schedule_requests_tour foreign key (tour_id) references tours (id)
+) engine=InnoDB;
+
+create table audit_logs (
+    action_log_id bigint not null auto_increment,
+    changes TEXT,
+    operation varchar(20) not null,
+    player_id bigint,
+    table_name varchar(255) not null,
+    update_time datetime(6) not null,
+    primary key (action_log_id)
+) engine=InnoDB;
@@ -0,0 +1,22 @@
+-- Indexes behind the repository lookups on the bot's hot paths.
+
+create index idx_schedule_requests_tour_status on schedule_requests (tour_id, status);
+create index idx_schedule_requests_recipient_status on schedule_requests (recepient_player_id, status);
+
+-- Concurrent saves could leave more than one availability row per player and tour; keep the latest
+delete older
+from availability_slots older
+join availability_slots newer
+  on newer.player_id = older.player_id
+ and newer.tour_id = older.tour_id
+ and (coalesce(newer.updated_at, newer.created_at) > coalesce(older.updated_at, older.created_at)
+      or (coalesce(newer.updated_at, newer.created_at) = coalesce(older.updated_at, older.created_at) and newer.id > older.id));
+
+create unique index uk_availability_slots_player_tour on availability_slots (player_id, tour_id);
+
+create index idx_tours_players_tour on tours_players (tour_id);
+create index idx_tours_players_player on tours_players (player_id);
+
+create index idx_tours_tour_template on tours (tour_template_id);
+
+create index idx_audit_logs_update_time on audit_logs (update_time);
@@ -0,0 +1,2 @@
+-- Compact availability bitmaps; the JSON columns stay until every row has been converted.
+alter table availability_slots add column availability varbinary(1024);
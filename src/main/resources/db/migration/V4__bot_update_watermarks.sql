@@ -0,0 +1,7 @@
+-- Last processed Telegram update id per bot, used to drop re-delivered updates after a restart.
+create table if not exists bot_update_watermarks (
+    bot_username varchar(255) not null,
+    last_update_id integer not null,
+    updated_at datetime(6) not null,
+    primary key (bot_username)
+) engine=InnoDB;
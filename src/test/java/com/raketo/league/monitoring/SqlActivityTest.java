@@ -0,0 +1,89 @@
+package com.raketo.league.monitoring;
+
+import com.raketo.league.model.Player;
+import com.raketo.league.repository.PlayerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(CountingDataSourcePostProcessor.class)
+class SqlActivityTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 3; i++) {
+            entityManager.persist(Player.builder().name("Player " + i).telegramUsername("player" + i).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void countsStatementsAndFetchedRows() {
+        SqlActivity activity = SqlActivity.measure(() -> assertEquals(3, playerRepository.findAll().size()));
+
+        assertEquals(1, activity.statements());
+        assertEquals(3, activity.rows());
+        assertTrue(activity.time().toNanos() > 0);
+    }
+
+    @Test
+    void countsNestedActivityTowardsEnclosingOne() {
+        AtomicReference<SqlActivity> inner = new AtomicReference<>();
+        SqlActivity outer = SqlActivity.measure(() -> {
+            playerRepository.count();
+            inner.set(SqlActivity.measure(playerRepository::findAll));
+        });
+
+        assertEquals(1, inner.get().statements());
+        assertEquals(3, inner.get().rows());
+        assertEquals(2, outer.statements());
+        assertEquals(4, outer.rows());
+    }
+
+    @Test
+    void failsOverStatementBudget() {
+        SqlActivity activity = SqlActivity.measure(() -> {
+            playerRepository.count();
+            playerRepository.findAll();
+        });
+
+        activity.requireStatementsAtMost(2, "two queries");
+        assertThrows(IllegalStateException.class, () -> activity.requireStatementsAtMost(1, "two queries"));
+    }
+
+    @Test
+    void recorderThrowsOverBudgetWhenConfiguredTo() {
+        SqlActivityRecorder strict = new SqlActivityRecorder(new SimpleMeterRegistry(), 1, true);
+        SqlActivityRecorder lenient = new SqlActivityRecorder(new SimpleMeterRegistry(), 1, false);
+
+        assertThrows(IllegalStateException.class, () -> {
+            try (SqlActivityRecorder.Scope ignored = strict.begin("test:strict")) {
+                playerRepository.count();
+                playerRepository.findAll();
+            }
+        });
+        try (SqlActivityRecorder.Scope ignored = lenient.begin("test:lenient")) {
+            playerRepository.count();
+            playerRepository.findAll();
+        }
+    }
+}
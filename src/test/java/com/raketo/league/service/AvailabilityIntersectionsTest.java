@@ -0,0 +1,178 @@
+package com.raketo.league.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.raketo.league.service.AvailabilityService.TimeIntersection;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares {@link AvailabilityIntersections} with the map-based implementation it replaced on random
+ * availability around a year boundary.
+ */
+class AvailabilityIntersectionsTest {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final DateTimeFormatter KEY = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 12, 27);
+    private static final int CASES = 20_000;
+
+    @Test
+    void matchesMapBasedImplementation() throws Exception {
+        Random random = new Random(20251227L);
+        for (int i = 0; i < CASES; i++) {
+            String greenA = randomColumn(random);
+            String redA = randomColumn(random);
+            String greenB = randomColumn(random);
+            String redB = randomColumn(random);
+            TourAvailability a = TourAvailability.fromJson(greenA, redA);
+            TourAvailability b = TourAvailability.fromJson(greenB, redB);
+            String input = "A green=" + greenA + " red=" + redA + ", B green=" + greenB + " red=" + redB;
+
+            assertEquals(Oracle.green(greenA, greenB), AvailabilityIntersections.green(a, b), "green for " + input);
+            assertEquals(Oracle.yellow(greenA, redA, greenB, redB), AvailabilityIntersections.yellow(a, b), "yellow for " + input);
+        }
+    }
+
+    @Test
+    void joinsRunsAcrossMidnightAndNewYear() throws Exception {
+        String green = "{\"31-12-2025\":[22,23],\"01-01-2026\":[0,1]}";
+        TourAvailability a = TourAvailability.fromJson(green, null);
+
+        assertEquals(List.of(new TimeIntersection(LocalDateTime.of(2025, 12, 31, 22, 0), LocalDateTime.of(2026, 1, 1, 2, 0), "green")),
+                AvailabilityIntersections.green(a, a));
+        assertEquals(Oracle.yellow(green, null, green, null), AvailabilityIntersections.yellow(a, a));
+    }
+
+    /**
+     * A column of up to 8 days around new year. Days may be listed with no hours, hours cluster around
+     * midnight so runs continue into the next day, and red and green columns are drawn independently so
+     * the same hour is often both.
+     */
+    private static String randomColumn(Random random) throws Exception {
+        switch (random.nextInt(12)) {
+            case 0:
+                return null;
+            case 1:
+                return "{}";
+            default:
+                break;
+        }
+        Map<String, List<Integer>> column = new LinkedHashMap<>();
+        int days = random.nextInt(8);
+        for (int i = 0; i < days; i++) {
+            LocalDate day = FIRST_DAY.plusDays(random.nextInt(10));
+            List<Integer> hours = new ArrayList<>();
+            int style = random.nextInt(4);
+            if (style == 1) {
+                int start = 18 + random.nextInt(6);
+                int end = random.nextInt(6);
+                for (int hour = start; hour < 24; hour++) hours.add(hour);
+                for (int hour = 0; hour < end; hour++) hours.add(hour);
+            } else if (style == 2) {
+                for (int hour = 0; hour < 24; hour++) hours.add(hour);
+            } else if (style == 3) {
+                for (int j = random.nextInt(10); j > 0; j--) {
+                    int hour = random.nextInt(24);
+                    if (!hours.contains(hour)) hours.add(hour);
+                }
+            }
+            column.put(day.format(KEY), hours);
+        }
+        return OBJECT_MAPPER.writeValueAsString(column);
+    }
+
+    /**
+     * The TreeSet and merge algorithm that computed intersections before the hour masks.
+     */
+    private static final class Oracle {
+        private static final DateTimeFormatter HOUR = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
+
+        static List<TimeIntersection> green(String availA, String availB) {
+            Map<String, List<Integer>> greenA = parse(availA);
+            Map<String, List<Integer>> greenB = parse(availB);
+            Set<String> allDays = new HashSet<>();
+            allDays.addAll(greenA.keySet());
+            allDays.addAll(greenB.keySet());
+
+            List<TimeIntersection> list = new ArrayList<>();
+            for (String day : allDays) {
+                Set<Integer> overlap = new TreeSet<>(greenA.getOrDefault(day, List.of()));
+                overlap.retainAll(greenB.getOrDefault(day, List.of()));
+                for (Integer hour : overlap) {
+                    LocalDateTime start = LocalDateTime.parse(day + " " + String.format("%02d:00:00", hour), HOUR);
+                    list.add(new TimeIntersection(start, start.plusHours(1), "green"));
+                }
+            }
+            return merge(list);
+        }
+
+        static List<TimeIntersection> yellow(String availA, String unavailA, String availB, String unavailB) {
+            Map<String, List<Integer>> greenA = parse(availA);
+            Map<String, List<Integer>> redA = parse(unavailA);
+            Map<String, List<Integer>> greenB = parse(availB);
+            Map<String, List<Integer>> redB = parse(unavailB);
+            Set<String> allPossibleDays = new HashSet<>();
+            allPossibleDays.addAll(greenA.keySet());
+            allPossibleDays.addAll(greenB.keySet());
+            allPossibleDays.addAll(redA.keySet());
+            allPossibleDays.addAll(redB.keySet());
+
+            List<TimeIntersection> list = new ArrayList<>();
+            for (String day : allPossibleDays) {
+                for (int hour = 0; hour < 24; hour++) {
+                    boolean aRed = redA.getOrDefault(day, List.of()).contains(hour);
+                    boolean bRed = redB.getOrDefault(day, List.of()).contains(hour);
+                    boolean aGreen = greenA.getOrDefault(day, List.of()).contains(hour);
+                    boolean bGreen = greenB.getOrDefault(day, List.of()).contains(hour);
+                    if (!aRed && !bRed && (!aGreen || !bGreen)) {
+                        LocalDateTime start = LocalDateTime.parse(day + " " + String.format("%02d:00:00", hour), HOUR);
+                        list.add(new TimeIntersection(start, start.plusHours(1), "yellow"));
+                    }
+                }
+            }
+            return merge(list);
+        }
+
+        private static Map<String, List<Integer>> parse(String json) {
+            if (json == null || json.isBlank()) return Collections.emptyMap();
+            try {
+                return OBJECT_MAPPER.readValue(json, new TypeReference<>() {});
+            } catch (Exception e) {
+                return Collections.emptyMap();
+            }
+        }
+
+        private static List<TimeIntersection> merge(List<TimeIntersection> raw) {
+            if (raw.isEmpty()) return raw;
+            List<TimeIntersection> sorted = raw.stream().sorted(Comparator.comparing(TimeIntersection::start)).toList();
+            List<TimeIntersection> merged = new ArrayList<>();
+            TimeIntersection current = sorted.get(0);
+            for (int i = 1; i < sorted.size(); i++) {
+                TimeIntersection next = sorted.get(i);
+                if (!current.end().isBefore(next.start()) && current.type().equals(next.type())) {
+                    current = new TimeIntersection(current.start(), current.end().isAfter(next.end()) ? current.end() : next.end(), current.type());
+                } else {
+                    merged.add(current);
+                    current = next;
+                }
+            }
+            merged.add(current);
+            return merged;
+        }
+    }
+}
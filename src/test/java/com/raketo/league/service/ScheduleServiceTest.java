@@ -0,0 +1,140 @@
+package com.raketo.league.service;
+
+import com.raketo.league.model.*;
+import com.raketo.league.monitoring.CountingDataSourcePostProcessor;
+import com.raketo.league.monitoring.SqlActivity;
+import com.raketo.league.repository.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(CountingDataSourcePostProcessor.class)
+class ScheduleServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private TourPlayerRepository tourPlayerRepository;
+    @Autowired
+    private PlayerDivisionAssignmentRepository playerDivisionAssignmentRepository;
+    @Autowired
+    private TourTemplateRepository tourTemplateRepository;
+    @Autowired
+    private TourRepository tourRepository;
+
+    private ScheduleService scheduleService;
+    private Tournament tournament;
+    private int players;
+
+    @BeforeEach
+    void setUp() {
+        PlayerScheduleCache cache = new PlayerScheduleCache(new ScheduleDataVersions(), 100, new SimpleMeterRegistry());
+        scheduleService = new ScheduleService(tourPlayerRepository, playerDivisionAssignmentRepository, tourTemplateRepository, cache, tourRepository);
+        tournament = entityManager.persist(Tournament.builder().name("Spring").startDate(LocalDateTime.of(2026, 3, 2, 0, 0)).build());
+    }
+
+    @Test
+    void loadsScheduleAcrossDivisionsWithTwoStatementsRegardlessOfTourCount() {
+        Player few = player();
+        Player many = player();
+        Set<Long> divisions = Set.of(division("Pro", 12, few, many), division("Amateur", 12, few, many));
+        playedTours(few, divisions, 1);
+        playedTours(many, divisions, 6);
+        entityManager.flush();
+        entityManager.clear();
+
+        SqlActivity fewTours = measureSchedule(few.getId(), divisions, 2);
+        SqlActivity manyTours = measureSchedule(many.getId(), divisions, 12);
+
+        fewTours.requireStatementsAtMost(2, "schedule of a player in 2 tours");
+        manyTours.requireStatementsAtMost(2, "schedule of a player in 12 tours");
+        assertTrue(fewTours.statements() > 0);
+        assertEquals(fewTours.statements(), manyTours.statements());
+    }
+
+    /**
+     * Builds the schedule and touches everything the schedule screen shows, so lazy loads are counted too.
+     */
+    private SqlActivity measureSchedule(Long playerId, Set<Long> divisionTournamentIds, int expectedTours) {
+        Player player = Player.builder().id(playerId).build();
+        AtomicReference<ScheduleService.PlayerSchedule> schedule = new AtomicReference<>();
+        SqlActivity activity = SqlActivity.measure(() -> {
+            schedule.set(scheduleService.buildPlayerScheduleForDivisions(player, divisionTournamentIds));
+            for (ScheduleService.TourInfo tour : schedule.get().tours()) {
+                if (tour.opponent() != null) {
+                    assertNotNull(tour.opponent().getName());
+                }
+                if (tour.responsiblePlayer() != null) {
+                    assertNotNull(tour.responsiblePlayer().getName());
+                }
+            }
+        });
+        assertEquals(24, schedule.get().tours().size());
+        assertEquals(expectedTours, schedule.get().tours().stream().filter(t -> t.tourId() != null).count());
+        return activity;
+    }
+
+    private Long division(String name, int rounds, Player... members) {
+        Division division = entityManager.persist(Division.builder().name(name).build());
+        DivisionTournament divisionTournament = entityManager.persist(
+                DivisionTournament.builder().division(division).tournament(tournament).build());
+        for (Player member : members) {
+            entityManager.persist(PlayerDivisionAssignment.builder().player(member).divisionTournament(divisionTournament).build());
+        }
+        LocalDateTime start = tournament.getStartDate();
+        for (int round = 0; round < rounds; round++) {
+            entityManager.persist(TourTemplate.builder()
+                    .divisionTournament(divisionTournament)
+                    .startDate(start.plusWeeks(round))
+                    .endDate(start.plusWeeks(round + 1))
+                    .build());
+        }
+        return divisionTournament.getId();
+    }
+
+    /**
+     * Pairs the player with a new opponent in the first {@code perDivision} rounds of each division.
+     */
+    private void playedTours(Player player, Set<Long> divisionTournamentIds, int perDivision) {
+        List<TourTemplate> templates = new ArrayList<>();
+        for (Long divisionTournamentId : divisionTournamentIds) {
+            templates.addAll(entityManager.getEntityManager()
+                    .createQuery("SELECT tt FROM TourTemplate tt WHERE tt.divisionTournament.id = :id ORDER BY tt.startDate", TourTemplate.class)
+                    .setParameter("id", divisionTournamentId)
+                    .setMaxResults(perDivision)
+                    .getResultList());
+        }
+        for (TourTemplate template : templates) {
+            Player opponent = player();
+            Tour tour = entityManager.persist(Tour.builder()
+                    .tourTemplate(template)
+                    .scheduledTime(template.getStartDate().plusDays(2))
+                    .responsiblePlayer(opponent)
+                    .build());
+            entityManager.persist(TourPlayer.builder().tour(tour).player(player).build());
+            entityManager.persist(TourPlayer.builder().tour(tour).player(opponent).build());
+        }
+    }
+
+    private Player player() {
+        int number = ++players;
+        return entityManager.persist(Player.builder().name("Player " + number).telegramUsername("player" + number).build());
+    }
+}